@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: time-to-first-request and resident memory per launch mode.
+#
+#   mvn -Pfast-startup package          (builds the jar, AOT classes and CDS archive)
+#   mvn -Pnative native:compile         (optional, needs GraalVM)
+#   scripts/startup-benchmark.sh [runs] [-- extra application args]
+#
+# Modes that have not been built are skipped. The probe URL must answer without
+# a database round trip or a login; override it with PROBE_URL.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+shift || true
+[[ "${1:-}" == "--" ]] && shift
+APP_ARGS=("$@")
+
+PORT=${PORT:-8080}
+PROBE_URL=${PROBE_URL:-http://localhost:${PORT}/api/auth/success}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+
+JAR=target/faculty-update-1.0.0.jar
+CDS_DIR=target/cds
+CDS_JAR=faculty-update-1.0.0-cds.jar
+NATIVE_BIN=target/faculty-update
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_kb() {
+    awk '/VmRSS/ { print $2 }' "/proc/$1/status" 2>/dev/null || echo 0
+}
+
+# Starts the command, polls PROBE_URL until it answers, prints "<ms> <rss-kb>"
+measure() {
+    local dir=$1
+    shift
+    local start pid elapsed rss
+    start=$(now_ms)
+    (cd "$dir" && exec "$@" --server.port="$PORT" "${APP_ARGS[@]}" >/dev/null 2>&1) &
+    pid=$!
+
+    until curl -sf -o /dev/null "$PROBE_URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "process exited before answering $PROBE_URL" >&2
+            return 1
+        fi
+        if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            echo "no answer from $PROBE_URL after ${TIMEOUT_SECONDS}s" >&2
+            kill "$pid"
+            return 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(rss_kb "$pid")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+run_mode() {
+    local name=$1
+    shift
+    local total_ms=0 total_rss=0 result ms rss
+    for ((i = 1; i <= RUNS; i++)); do
+        result=$(measure "$@") || return 0
+        read -r ms rss <<< "$result"
+        total_ms=$(( total_ms + ms ))
+        total_rss=$(( total_rss + rss ))
+    done
+    printf "%-10s %12d %12d\n" "$name" $(( total_ms / RUNS )) $(( total_rss / RUNS / 1024 ))
+}
+
+printf "%-10s %12s %12s\n" "mode" "first-req ms" "rss MB"
+
+[[ -f "$JAR" ]] && run_mode jvm . java -jar "$JAR"
+if [[ -f "$CDS_DIR/$CDS_JAR" ]]; then
+    run_mode aot "$CDS_DIR" java -Dspring.aot.enabled=true -jar "$CDS_JAR"
+    [[ -f "$CDS_DIR/application.jsa" ]] && \
+        run_mode aot+cds "$CDS_DIR" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$CDS_JAR"
+fi
+[[ -x "$NATIVE_BIN" ]] && run_mode native . "$NATIVE_BIN"
+
+exit 0
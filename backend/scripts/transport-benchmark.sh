@@ -0,0 +1,122 @@
+#!/usr/bin/env bash
+#
+# Transport benchmark: bytes on the wire and latency per endpoint, HTTP/1.1 without
+# compression (the default settings) against the prod profile (h2c + gzip).
+#
+#   mvn package
+#   scripts/transport-benchmark.sh [requests] [-- extra application args]
+#
+# Each mode starts the jar, sends [requests] sequential requests per endpoint over
+# one connection, then fetches the profile screen's requests in parallel as a burst
+# and counts the connections that took. Public endpoints are always measured; set
+# SESSION_COOKIE (a JSESSIONID value, e.g. from a stub-idp login) to add the
+# profile endpoints and PHOTO_PATH (e.g. /uploads/faculty-photos/FAC-CS-001.png)
+# to add a photo.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+REQUESTS=${1:-50}
+shift || true
+[[ "${1:-}" == "--" ]] && shift
+APP_ARGS=("$@")
+
+PORT=${PORT:-8080}
+BASE_URL=http://localhost:${PORT}
+PROBE_URL=${PROBE_URL:-${BASE_URL}/api/auth/success}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+
+JAR=target/faculty-update-1.0.0.jar
+
+ENDPOINTS=(/api/courses /api/departments /v3/api-docs)
+BURST=(/api/courses /api/departments)
+CURL_AUTH=()
+if [[ -n "${SESSION_COOKIE:-}" ]]; then
+    ENDPOINTS+=(/api/faculty/me /api/bootstrap /api/teaching-load/me)
+    BURST+=(/api/faculty/me /api/teaching-load/me /api/capacity/courses)
+    CURL_AUTH=(--cookie "JSESSIONID=${SESSION_COOKIE}")
+fi
+[[ -n "${PHOTO_PATH:-}" ]] && ENDPOINTS+=("$PHOTO_PATH") && BURST+=("$PHOTO_PATH")
+
+now_ms() {
+    date +%s%3N
+}
+
+start_app() {
+    local start
+    start=$(now_ms)
+    java -jar "$JAR" --server.port="$PORT" "$@" "${APP_ARGS[@]}" >/dev/null 2>&1 &
+    APP_PID=$!
+    until curl -sf -o /dev/null "$PROBE_URL"; do
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            echo "process exited before answering $PROBE_URL" >&2
+            exit 1
+        fi
+        if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            echo "no answer from $PROBE_URL after ${TIMEOUT_SECONDS}s" >&2
+            kill "$APP_PID"
+            exit 1
+        fi
+        sleep 0.1
+    done
+}
+
+stop_app() {
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+}
+
+# Sequential requests on one connection; prints "<status> <avg bytes> <avg ms> <p95 ms>"
+measure_endpoint() {
+    local path=$1
+    shift
+    local args=()
+    for ((i = 0; i < REQUESTS; i++)); do
+        args+=(-o /dev/null "${BASE_URL}${path}")
+    done
+    curl -s --compressed "$@" "${CURL_AUTH[@]}" -w '%{http_code} %{size_download} %{time_total}\n' "${args[@]}" \
+        | sort -k3 -n \
+        | awk '{ status = $1; bytes += $2; ms[NR] = $3 * 1000; total += $3 * 1000 }
+               END { p95 = int(NR * 0.95); if (p95 < 1) p95 = 1;
+                     printf "%s %d %.1f %.1f\n", status, bytes / NR, total / NR, ms[p95] }'
+}
+
+# The burst in parallel; prints "<wall ms> <connections> <total bytes>"
+measure_burst() {
+    local args=() start transfers
+    for path in "${BURST[@]}"; do
+        args+=(-o /dev/null "${BASE_URL}${path}")
+    done
+    start=$(now_ms)
+    transfers=$(curl -s --compressed --parallel --parallel-max 8 "$@" "${CURL_AUTH[@]}" \
+            -w '%{num_connects} %{size_download}\n' "${args[@]}" 2>/dev/null)
+    awk -v wall=$(( $(now_ms) - start )) '{ conns += $1; bytes += $2 } END { printf "%d %d %d\n", wall, conns, bytes }' \
+        <<< "$transfers"
+}
+
+run_mode() {
+    local name=$1 curl_protocol=$2
+    shift 2
+    start_app "$@"
+    # One unmeasured pass so both modes are compared warm
+    for path in "${ENDPOINTS[@]}"; do
+        curl -s -o /dev/null "${CURL_AUTH[@]}" "${BASE_URL}${path}" || true
+    done
+    for path in "${ENDPOINTS[@]}"; do
+        read -r status bytes avg p95 <<< "$(measure_endpoint "$path" "$curl_protocol")"
+        printf "%-8s %-36s %6s %12s %10s %10s\n" "$name" "$path" "$status" "$bytes" "$avg" "$p95"
+    done
+    read -r wall conns bytes <<< "$(measure_burst "$curl_protocol")"
+    printf "%-8s %-36s %6s %12s %10s %10s\n" "$name" "burst (${#BURST[@]} parallel)" "${conns}c" "$bytes" "$wall" "-"
+    stop_app
+}
+
+[[ -f "$JAR" ]] || { echo "$JAR not found, run mvn package first" >&2; exit 1; }
+
+printf "%-8s %-36s %6s %12s %10s %10s\n" "mode" "endpoint" "status" "bytes/resp" "avg ms" "p95 ms"
+run_mode http1 --http1.1
+# h2c through the HTTP/1.1 Upgrade on the first request, multiplexed after that
+run_mode prod --http2 --spring.profiles.include=prod
+
+exit 0
@@ -0,0 +1,158 @@
+package com.esdproject.facultyupdate.config;
+
+import com.esdproject.facultyupdate.dto.ApiResponse;
+import com.esdproject.facultyupdate.service.AuthenticationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for /api/**, placed after authorization in the security chain.
+ *
+ * Every request is put in a class (upload, write, read; the admin batch lookup is a POST
+ * but only reads, so it counts as a read). Each class has a per-principal
+ * token bucket and a shared concurrency bulkhead, so a burst of profile saves or uploads
+ * cannot take every database connection, and reads keep their own permits. Rejected
+ * requests get 429 with Retry-After instead of queueing. Cached reference data, the
+ * auth endpoints and the long-lived change feed are not limited. The chunks of a
+ * resumable upload only take a bulkhead permit; the rate is charged when it starts.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    enum RequestClass { READ, WRITE, UPLOAD }
+
+    private final AdmissionControlProperties properties;
+    private final AuthenticationService authenticationService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<RequestClass, Semaphore> bulkheads = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, AdmissionControlProperties.Limits> limits = new EnumMap<>(RequestClass.class);
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public AdmissionControlFilter(AdmissionControlProperties properties,
+                                  AuthenticationService authenticationService,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.authenticationService = authenticationService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        limits.put(RequestClass.READ, properties.getRead());
+        limits.put(RequestClass.WRITE, properties.getWrite());
+        limits.put(RequestClass.UPLOAD, properties.getUpload());
+        limits.forEach((requestClass, limit) -> {
+            Semaphore bulkhead = new Semaphore(limit.getMaxConcurrent());
+            bulkheads.put(requestClass, bulkhead);
+            meterRegistry.gauge("admission.bulkhead.available",
+                    Tags.of("class", requestClass.name().toLowerCase()),
+                    bulkhead, Semaphore::availablePermits);
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !properties.isEnabled()
+                || !path.startsWith("/api/")
+                || path.startsWith("/api/auth/")
+                || path.startsWith("/api/changes")
+                || path.equals("/api/departments")
+                || path.equals("/api/courses")
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestClass requestClass = classify(request);
+        AdmissionControlProperties.Limits limit = limits.get(requestClass);
+
+        // Chunks of a resumable upload were paid for when the upload was started
+        if (!isUploadFollowUp(request)) {
+            String key = requestClass + ":" + principalKey(request);
+            long waitNanos = bucketFor(key, limit).tryConsume();
+            if (waitNanos > 0) {
+                reject(response, requestClass, "rate_limited", waitNanos,
+                        "Too many requests. Please wait before trying again.");
+                return;
+            }
+        }
+
+        Semaphore bulkhead = bulkheads.get(requestClass);
+        if (!bulkhead.tryAcquire()) {
+            reject(response, requestClass, "bulkhead_full", properties.getBulkheadRetryAfter().toNanos(),
+                    "The server is busy. Please try again shortly.");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private RequestClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || (HttpMethod.POST.matches(method) && path(request).equals("/api/faculty/batch"))) {
+            return RequestClass.READ;
+        }
+        String uri = request.getRequestURI();
+        if (uri.contains("/upload-photo") || uri.contains("/me/uploads")) {
+            return RequestClass.UPLOAD;
+        }
+        return RequestClass.WRITE;
+    }
+
+    private String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private boolean isUploadFollowUp(HttpServletRequest request) {
+        return request.getRequestURI().contains("/me/uploads/");
+    }
+
+    private String principalKey(HttpServletRequest request) {
+        return authenticationService.isAuthenticated()
+                ? authenticationService.getCurrentActor()
+                : "ip:" + request.getRemoteAddr();
+    }
+
+    private TokenBucket bucketFor(String key, AdmissionControlProperties.Limits limit) {
+        if (buckets.size() > properties.getMaxTrackedPrincipals()) {
+            // A full bucket is indistinguishable from a new one
+            buckets.values().removeIf(TokenBucket::isFull);
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(limit.getBurst(), limit.getPerMinute()));
+    }
+
+    private void reject(HttpServletResponse response, RequestClass requestClass, String reason,
+                        long retryAfterNanos, String message) throws IOException {
+        meterRegistry.counter("admission.rejected",
+                "class", requestClass.name().toLowerCase(), "reason", reason).increment();
+
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+}
@@ -0,0 +1,51 @@
+package com.esdproject.facultyupdate.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Rate limits and concurrency bulkheads per request class (app.admission.*).
+ * Defaults assume the default Hikari pool of 10 connections.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    @Valid
+    private Limits read = new Limits(20, 60, 600);
+    @Valid
+    private Limits write = new Limits(4, 5, 20);
+    @Valid
+    private Limits upload = new Limits(2, 3, 6);
+
+    // Retry-After sent when a bulkhead is full
+    private Duration bulkheadRetryAfter = Duration.ofSeconds(1);
+
+    // Idle (full) token buckets are dropped once more principals than this are tracked
+    private int maxTrackedPrincipals = 10000;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limits {
+        // Requests of this class running at once, across all users
+        @Positive
+        private int maxConcurrent;
+        // Token bucket per user: requests allowed back to back...
+        @Positive
+        private int burst;
+        // ...and the sustained rate after that; 0 would mean a bucket that never refills
+        @Positive
+        private int perMinute;
+    }
+}
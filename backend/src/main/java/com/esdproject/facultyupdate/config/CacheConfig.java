@@ -0,0 +1,90 @@
+package com.esdproject.facultyupdate.config;
+
+import com.esdproject.facultyupdate.repository.CourseRepository;
+import com.esdproject.facultyupdate.repository.DepartmentRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Hibernate second-level and query cache for Department and Course.
+ * Regions are defined in ehcache.xml.
+ */
+@Configuration
+public class CacheConfig {
+
+    private static final List<String> ENTITY_REGIONS = List.of("departments", "courses");
+    private static final List<String> QUERY_REGIONS = List.of(
+            DepartmentRepository.QUERY_CACHE_REGION, CourseRepository.QUERY_CACHE_REGION);
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+            properties.put("hibernate.javax.cache.uri", ehcacheConfigUri());
+            // Required for the hibernate.* cache metrics
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            // ...but not the per-session metrics log line that statistics switch on
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    // Resolved through Spring rather than Hibernate's own "classpath:" handling,
+    // which does not see the resource under every class loader setup
+    private String ehcacheConfigUri() {
+        try {
+            return new ClassPathResource("ehcache.xml").getURI().toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("ehcache.xml not found on the classpath", e);
+        }
+    }
+
+    /**
+     * Hit ratio gauges per region, on top of the raw hibernate.second.level.cache.requests
+     * and hibernate.query.cache.requests counters published by hibernate-micrometer.
+     */
+    @Bean
+    public MeterBinder referenceCacheHitRatioMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            ENTITY_REGIONS.forEach(region -> registerHitRatio(registry, region, "entity",
+                    statistics, Statistics::getDomainDataRegionStatistics));
+            QUERY_REGIONS.forEach(region -> registerHitRatio(registry, region, "query",
+                    statistics, Statistics::getQueryRegionStatistics));
+        };
+    }
+
+    private void registerHitRatio(MeterRegistry registry, String region, String type, Statistics statistics,
+                                  BiFunction<Statistics, String, CacheRegionStatistics> lookup) {
+        Gauge.builder("reference.cache.hit.ratio", statistics, stats -> {
+                    CacheRegionStatistics regionStats = lookup.apply(stats, region);
+                    if (regionStats == null) {
+                        return 0.0;
+                    }
+                    long hits = regionStats.getHitCount();
+                    long total = hits + regionStats.getMissCount();
+                    return total == 0 ? 0.0 : (double) hits / total;
+                })
+                .tag("region", region)
+                .tag("type", type)
+                .description("Share of second-level cache lookups answered without hitting the database")
+                .register(registry);
+    }
+}
@@ -0,0 +1,92 @@
+package com.esdproject.facultyupdate.config;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.springframework.web.client.RestOperations;
+
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * One provider's JWK set, kept in memory and replaced by refresh(). Signature checks
+ * are served from memory; only a key id that is not in the set (the provider rotated
+ * its keys) fetches the set on the login thread, and at most once per minRefreshNanos.
+ */
+final class CachedJwkSetSource implements JWKSource<SecurityContext> {
+
+    private final String jwkSetUri;
+    private final RestOperations restOperations;
+    private final long minRefreshNanos;
+    private final Object refreshLock = new Object();
+
+    private volatile JWKSet jwkSet;
+    // Guarded by refreshLock
+    private long fetchedAt;
+
+    CachedJwkSetSource(String jwkSetUri, RestOperations restOperations, long minRefreshNanos) {
+        this.jwkSetUri = jwkSetUri;
+        this.restOperations = restOperations;
+        this.minRefreshNanos = minRefreshNanos;
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        JWKSet current = jwkSet;
+        if (current != null) {
+            List<JWK> matches = jwkSelector.select(current);
+            if (!matches.isEmpty()) {
+                return matches;
+            }
+        }
+        JWKSet refreshed = refreshIfUnchanged(current);
+        return refreshed == null ? List.of() : jwkSelector.select(refreshed);
+    }
+
+    /**
+     * Fetches the JWK set and replaces the cached one
+     * @throws KeySourceException if the set could not be fetched or parsed; the cached set is kept
+     */
+    JWKSet refresh() throws KeySourceException {
+        synchronized (refreshLock) {
+            return fetch();
+        }
+    }
+
+    private JWKSet refreshIfUnchanged(JWKSet seen) throws KeySourceException {
+        synchronized (refreshLock) {
+            if (jwkSet != seen) {
+                return jwkSet;  // another thread refreshed while this one waited
+            }
+            if (seen != null && System.nanoTime() - fetchedAt < minRefreshNanos) {
+                return seen;
+            }
+            return fetch();
+        }
+    }
+
+    // Caller holds refreshLock
+    private JWKSet fetch() throws KeySourceException {
+        try {
+            String body = restOperations.getForObject(jwkSetUri, String.class);
+            if (body == null) {
+                throw new KeySourceException("Empty JWK set response from " + jwkSetUri);
+            }
+            JWKSet parsed = JWKSet.parse(body);
+            jwkSet = parsed;
+            fetchedAt = System.nanoTime();
+            return parsed;
+        } catch (ParseException e) {
+            throw new KeySourceException("Invalid JWK set from " + jwkSetUri + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            throw new KeySourceException("Could not fetch the JWK set from " + jwkSetUri + ": " + e.getMessage(), e);
+        }
+    }
+
+    String getJwkSetUri() {
+        return jwkSetUri;
+    }
+}
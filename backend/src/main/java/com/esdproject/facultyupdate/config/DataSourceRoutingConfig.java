@@ -0,0 +1,99 @@
+package com.esdproject.facultyupdate.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single auto-configured DataSource with a primary + read replica
+ * routing DataSource when app.datasource.routing.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    // Not beans themselves (the routing proxy is), so they are closed here
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties routingProperties) {
+        return new ReadYourWritesTracker(routingProperties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    ReadYourWritesListener readYourWritesListener(EntityManagerFactory entityManagerFactory,
+                                                  ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadYourWritesListener(entityManagerFactory, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ReplicaRoutingProperties routingProperties,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        pools.add(primary);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+
+        List<String> replicaKeys = new ArrayList<>();
+        List<ReplicaRoutingProperties.Replica> replicas = routingProperties.getReplicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            HikariDataSource replica = buildReplica(replicas.get(i), key);
+            pools.add(replica);
+            if (routingProperties.isMigrateReplicas()) {
+                Flyway.configure().dataSource(replica).load().migrate();
+            }
+            targets.put(key, replica);
+            replicaKeys.add(key);
+        }
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaKeys, readYourWritesTracker);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        // Defer the physical connection until the first statement so the routing
+        // decision sees the read-only flag of the surrounding transaction
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @PreDestroy
+    public void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource buildReplica(ReplicaRoutingProperties.Replica replica, String poolName) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .driverClassName(replica.getDriverClassName())
+                .build();
+        dataSource.setPoolName(poolName);
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        return dataSource;
+    }
+}
@@ -0,0 +1,63 @@
+package com.esdproject.facultyupdate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * V4 adds a unique constraint on faculty_courses.course_id, which fails on a database
+ * where a course already has more than one owner. Right before V4 runs this keeps the
+ * oldest assignment of each course, drops the others and points courses.faculty at the
+ * remaining owner. Done as a callback so V4 itself stays as released.
+ */
+@Slf4j
+public class DuplicateCourseOwnerCleanup implements Callback {
+
+    private static final MigrationVersion UNIQUE_COURSE_OWNER = MigrationVersion.fromVersion("4");
+
+    private static final String DELETE_DUPLICATES =
+            "DELETE FROM faculty_courses WHERE id NOT IN ("
+                    + "SELECT keep_id FROM (SELECT MIN(id) AS keep_id FROM faculty_courses GROUP BY course_id) AS keep)";
+
+    private static final String RENAME_OWNERS =
+            "UPDATE courses SET faculty = ("
+                    + "SELECT CONCAT(e.first_name, ' ', e.last_name) FROM faculty_courses fc "
+                    + "JOIN employees e ON e.id = fc.faculty WHERE fc.course_id = courses.course_id) "
+                    + "WHERE course_id IN (SELECT course_id FROM faculty_courses)";
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE
+                && context.getMigrationInfo() != null
+                && UNIQUE_COURSE_OWNER.equals(context.getMigrationInfo().getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        try (Statement statement = context.getConnection().createStatement()) {
+            int removed = statement.executeUpdate(DELETE_DUPLICATES);
+            if (removed > 0) {
+                statement.executeUpdate(RENAME_OWNERS);
+                log.warn("Removed {} duplicate course assignments before adding the unique course owner constraint", removed);
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not remove duplicate course assignments before V4", e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "duplicateCourseOwnerCleanup";
+    }
+}
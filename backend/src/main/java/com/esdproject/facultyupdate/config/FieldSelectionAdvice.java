@@ -0,0 +1,37 @@
+package com.esdproject.facultyupdate.config;
+
+import com.esdproject.facultyupdate.controller.CourseController;
+import com.esdproject.facultyupdate.controller.FacultyController;
+import com.esdproject.facultyupdate.dto.FieldSelection;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies ?fields= to the faculty and course responses (JSON, CBOR and Smile alike).
+ */
+@ControllerAdvice(assignableTypes = {FacultyController.class, CourseController.class})
+public class FieldSelectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FIELDS_PARAM = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue container, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        FieldSelection selection = FieldSelection.parse(servletRequest.getServletRequest().getParameter(FIELDS_PARAM));
+        if (!selection.isAll()) {
+            container.setFilters(new SimpleFilterProvider()
+                    .addFilter(FieldSelectionFilter.FILTER_ID, new FieldSelectionFilter(selection)));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.esdproject.facultyupdate.config;
+
+import com.esdproject.facultyupdate.dto.FieldSelection;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+
+/**
+ * Jackson property filter that writes only the fields of a FieldSelection. The path of
+ * each property is taken from the generator's output context, so the same class can be
+ * filtered differently at different depths. Properties outside ApiResponse.data
+ * (success, message) are always written.
+ */
+class FieldSelectionFilter extends SimpleBeanPropertyFilter {
+
+    static final String FILTER_ID = "fieldSelection";
+
+    private static final String DATA = "data";
+
+    private final FieldSelection selection;
+
+    FieldSelectionFilter(FieldSelection selection) {
+        this.selection = selection;
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider,
+                                 PropertyWriter writer) throws Exception {
+        String path = pathOf(generator.getOutputContext(), writer.getName());
+        if (path == null || selection.includes(path)) {
+            writer.serializeAsField(pojo, generator, provider);
+        } else if (!generator.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, generator, provider);
+        }
+    }
+
+    /**
+     * @return the dotted path below ApiResponse.data, or null for properties outside it
+     */
+    private String pathOf(JsonStreamContext context, String name) {
+        StringBuilder path = new StringBuilder(name);
+        for (JsonStreamContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent.inObject() && parent.getCurrentName() != null) {
+                path.insert(0, '.').insert(0, parent.getCurrentName());
+            }
+        }
+        String full = path.toString();
+        return full.startsWith(DATA + ".") ? full.substring(DATA.length() + 1) : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.esdproject.facultyupdate.config;
+
+import org.flywaydb.core.api.callback.Callback;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Databases created by the old data.sql already contain the V1 schema and
+     * V2 seed data, so they are baselined at version 2 and only pick up later
+     * migrations. Empty databases run every migration from V1.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer legacySchemaBaseline() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("2")
+                .baselineDescription("Schema created by data.sql");
+    }
+
+    /**
+     * Clears duplicate course owners right before V4 adds the unique constraint.
+     */
+    @Bean
+    public Callback duplicateCourseOwnerCleanup() {
+        return new DuplicateCourseOwnerCleanup();
+    }
+}
@@ -0,0 +1,292 @@
+package com.esdproject.facultyupdate.config;
+
+import com.esdproject.facultyupdate.dto.ApiResponse;
+import com.esdproject.facultyupdate.service.AuthenticationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key support for JSON POST/PUT/PATCH requests, placed right after
+ * authorization so a replay never reaches admission control or the database.
+ *
+ * The first request with a key (per user) runs normally and its response is recorded
+ * together with a SHA-256 fingerprint of method, URI and body. Retries with the same
+ * key and fingerprint get the recorded response back, marked Idempotent-Replayed; a
+ * retry that arrives while the first is still running waits for its result. Reusing a
+ * key for a different request is rejected with 422. 5xx and 429 responses are not
+ * kept, so the client can try again with the same key.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final AuthenticationService authenticationService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final IdempotencyStore store;
+
+    public IdempotencyFilter(IdempotencyProperties properties,
+                             AuthenticationService authenticationService,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.authenticationService = authenticationService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.store = new IdempotencyStore(properties.getMaxEntries(), properties.getTtl().toNanos());
+        meterRegistry.gauge("idempotency.keys", store, IdempotencyStore::size);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !properties.isEnabled()
+                || request.getHeader(IDEMPOTENCY_KEY) == null
+                || !(HttpMethod.POST.matches(method) || HttpMethod.PUT.matches(method) || HttpMethod.PATCH.matches(method))
+                || !isJson(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY + " must be 1 to " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(properties.getMaxBodyBytes() + 1);
+        if (body.length > properties.getMaxBodyBytes()) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large to use " + IDEMPOTENCY_KEY + ".");
+            return;
+        }
+
+        String key = authenticationService.getCurrentActor() + ":" + idempotencyKey;
+        IdempotencyStore.Entry entry = new IdempotencyStore.Entry(fingerprint(request, body),
+                new CompletableFuture<>(), System.nanoTime());
+        IdempotencyStore.Entry existing = store.putIfAbsent(key, entry);
+        if (existing == IdempotencyStore.FULL) {
+            count("full");
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many requests with an " + IDEMPOTENCY_KEY + " are in progress. Please retry shortly.");
+            return;
+        }
+        if (existing != null) {
+            replay(existing, entry.fingerprint(), response);
+            return;
+        }
+
+        ContentCachingResponseWrapper recorder = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), recorder);
+            IdempotencyStore.StoredResponse stored = new IdempotencyStore.StoredResponse(
+                    recorder.getStatus(), headersOf(recorder), recorder.getContentAsByteArray());
+            if (!isKept(stored.status())) {
+                store.remove(key, entry);
+            }
+            entry.response().complete(stored);
+            recorder.copyBodyToResponse();
+        } catch (IOException | ServletException | RuntimeException e) {
+            store.remove(key, entry);
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void replay(IdempotencyStore.Entry existing, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            count("mismatch");
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This " + IDEMPOTENCY_KEY + " was already used for a different request.");
+            return;
+        }
+
+        IdempotencyStore.StoredResponse stored;
+        try {
+            stored = existing.response().get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            count("timed_out");
+            reject(response, HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY + " is still in progress.");
+            return;
+        } catch (ExecutionException e) {
+            count("failed");
+            reject(response, HttpStatus.CONFLICT, "The original request with this " + IDEMPOTENCY_KEY + " failed. Please retry.");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request.");
+            return;
+        }
+
+        count("replayed");
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> {
+            response.setHeader(name, values.get(0));
+            values.subList(1, values.size()).forEach(value -> response.addHeader(name, value));
+        });
+        response.setHeader(REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static boolean isKept(int status) {
+        return status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static Map<String, List<String>> headersOf(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            // Session cookies and CORS headers belong to the request being answered
+            if (!name.equalsIgnoreCase(HttpHeaders.SET_COOKIE) && !name.toLowerCase().startsWith("access-control-")
+                    && !name.equalsIgnoreCase(HttpHeaders.VARY)) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        if (response.getContentType() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(response.getContentType()));
+        }
+        return headers;
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isJson(HttpServletRequest request) {
+        try {
+            return request.getContentType() != null
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("idempotency.duplicates", "outcome", outcome).increment();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    /**
+     * Hands the already-read body to the rest of the chain
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is in memory: it can be read at once and is then done
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
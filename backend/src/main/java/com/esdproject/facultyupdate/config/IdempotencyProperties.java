@@ -0,0 +1,28 @@
+package com.esdproject.facultyupdate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key handling for JSON writes (app.idempotency.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    // How long a finished response is replayed for the same key
+    private Duration ttl = Duration.ofHours(24);
+
+    // Oldest keys are evicted beyond this many
+    private int maxEntries = 10000;
+
+    // How long a duplicate waits for the first request with its key to finish
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    // Larger request bodies are rejected when they carry a key
+    private int maxBodyBytes = 64 * 1024;
+}
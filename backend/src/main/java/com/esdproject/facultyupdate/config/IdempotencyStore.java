@@ -0,0 +1,78 @@
+package com.esdproject.facultyupdate.config;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded, insertion-ordered key -> response map. Entries expire a fixed time after
+ * they were created, so the oldest entries are always at the head and eviction only
+ * looks at the front. When full, the oldest finished entry makes room; an entry whose
+ * request is still running is never evicted, since a retry would then run it again.
+ * The store is per process: a retry routed to another instance is not deduplicated,
+ * which is why deployments with several instances need sticky routing.
+ */
+final class IdempotencyStore {
+
+    record StoredResponse(int status, Map<String, List<String>> headers, byte[] body) {
+    }
+
+    record Entry(String fingerprint, CompletableFuture<StoredResponse> response, long createdNanos) {
+    }
+
+    static final Entry FULL = new Entry("", CompletableFuture.completedFuture(null), 0);
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    IdempotencyStore(int maxEntries, long ttlNanos) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * @return The live entry already stored for key, FULL if every slot holds a request
+     *         that is still running, or null if entry was stored
+     */
+    synchronized Entry putIfAbsent(String key, Entry entry) {
+        evictExpired(entry.createdNanos());
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (entries.size() >= maxEntries && !evictOldestFinished()) {
+            return FULL;
+        }
+        entries.put(key, entry);
+        return null;
+    }
+
+    synchronized void remove(String key, Entry entry) {
+        entries.remove(key, entry);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean evictOldestFinished() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().response().isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && now - iterator.next().createdNanos() > ttlNanos) {
+            iterator.remove();
+        }
+    }
+}
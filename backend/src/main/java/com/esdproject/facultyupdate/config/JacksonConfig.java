@@ -0,0 +1,73 @@
+package com.esdproject.facultyupdate.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Field selection support and binary encodings for API responses.
+ *
+ * JSON stays the default; clients sending Accept: application/cbor or
+ * application/x-jackson-smile get the same document in that encoding.
+ */
+@Configuration
+public class JacksonConfig {
+
+    private static final String BASE_PACKAGE = "com.esdproject.facultyupdate.";
+
+    /**
+     * Writes all properties unless a request replaces the filter (see FieldSelectionAdvice)
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(FieldSelectionFilter.FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Puts every application class under the field selection filter, without
+     * annotating DTOs and entities with @JsonFilter
+     */
+    @Bean
+    public Module fieldSelectionModule() {
+        return new SimpleModule("FieldSelection") {
+            @Override
+            public void setupModule(SetupContext context) {
+                super.setupModule(context);
+                context.insertAnnotationIntrospector(new NopAnnotationIntrospector() {
+                    @Override
+                    public Object findFilterId(Annotated annotated) {
+                        return annotated instanceof AnnotatedClass
+                                && annotated.getRawType().getName().startsWith(BASE_PACKAGE)
+                                ? FieldSelectionFilter.FILTER_ID
+                                : null;
+                    }
+                });
+            }
+        };
+    }
+
+    // Built from Boot's builder so they share the JSON mapper's modules and settings
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
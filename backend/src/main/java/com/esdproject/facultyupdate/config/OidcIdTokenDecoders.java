@@ -0,0 +1,138 @@
+package com.esdproject.facultyupdate.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenDecoderFactory;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenValidator;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.converter.ClaimTypeConverter;
+import org.springframework.security.oauth2.core.oidc.OidcScopes;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoderFactory;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestOperations;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ID token decoders for OIDC logins, verified against JWK sets held in memory.
+ *
+ * The JWK set of every OIDC registration is fetched at startup and then refreshed in
+ * the background every jwk-refresh-interval, so a login checks the token signature
+ * without leaving the process. A failed refresh keeps the previous keys. Picked up by
+ * oauth2Login as the JwtDecoderFactory<ClientRegistration> bean.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.security.oidc", name = "enabled", havingValue = "true")
+public class OidcIdTokenDecoders implements JwtDecoderFactory<ClientRegistration> {
+
+    private final OidcLoginProperties properties;
+    private final ClientRegistrationRepository clientRegistrationRepository;
+    private final MeterRegistry meterRegistry;
+    private final RestOperations restOperations;
+    // By JWK set URI, so registrations of the same provider share one set
+    private final ConcurrentHashMap<String, CachedJwkSetSource> jwkSources = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, JwtDecoder> decoders = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "oidc-jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OidcIdTokenDecoders(OidcLoginProperties properties,
+                               ClientRegistrationRepository clientRegistrationRepository,
+                               RestTemplateBuilder restTemplateBuilder,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clientRegistrationRepository = clientRegistrationRepository;
+        this.meterRegistry = meterRegistry;
+        this.restOperations = restTemplateBuilder
+                .setConnectTimeout(properties.getConnectTimeout())
+                .setReadTimeout(properties.getReadTimeout())
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (clientRegistrationRepository instanceof Iterable<?> registrations) {
+            for (Object registration : registrations) {
+                ClientRegistration clientRegistration = (ClientRegistration) registration;
+                if (clientRegistration.getScopes().contains(OidcScopes.OPENID)
+                        && StringUtils.hasText(clientRegistration.getProviderDetails().getJwkSetUri())) {
+                    jwkSource(clientRegistration.getProviderDetails().getJwkSetUri());
+                }
+            }
+        }
+        // The first fetch runs here too, off the startup thread: the provider may be this very server
+        refresher.execute(this::refreshAll);
+        long interval = properties.getJwkRefreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    @Override
+    public JwtDecoder createDecoder(ClientRegistration clientRegistration) {
+        return decoders.computeIfAbsent(clientRegistration.getRegistrationId(), id -> buildDecoder(clientRegistration));
+    }
+
+    private JwtDecoder buildDecoder(ClientRegistration clientRegistration) {
+        String jwkSetUri = clientRegistration.getProviderDetails().getJwkSetUri();
+        if (!StringUtils.hasText(jwkSetUri)) {
+            throw new OAuth2AuthenticationException(new OAuth2Error("missing_signature_verifier",
+                    "No JWK set URI is configured for client registration '" + clientRegistration.getRegistrationId() + "'",
+                    null));
+        }
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource(jwkSetUri)));
+        // Claims are checked by the OIDC validator below
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        OidcIdTokenValidator validator = new OidcIdTokenValidator(clientRegistration);
+        validator.setClockSkew(properties.getClockSkew());
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(validator);
+        decoder.setClaimSetConverter(new ClaimTypeConverter(OidcIdTokenDecoderFactory.createDefaultClaimTypeConverters()));
+        return decoder;
+    }
+
+    private CachedJwkSetSource jwkSource(String jwkSetUri) {
+        return jwkSources.computeIfAbsent(jwkSetUri, uri -> new CachedJwkSetSource(uri, restOperations,
+                properties.getJwkMinRefreshInterval().toNanos()));
+    }
+
+    private void refreshAll() {
+        for (CachedJwkSetSource source : jwkSources.values()) {
+            try {
+                int keys = source.refresh().getKeys().size();
+                meterRegistry.counter("auth.oidc.jwks.refresh", "outcome", "success").increment();
+                log.debug("Refreshed {} signing keys from {}", keys, source.getJwkSetUri());
+            } catch (KeySourceException e) {
+                meterRegistry.counter("auth.oidc.jwks.refresh", "outcome", "failure").increment();
+                log.warn("JWK set refresh failed, keeping the previous keys: {}", e.getMessage());
+            }
+        }
+    }
+}
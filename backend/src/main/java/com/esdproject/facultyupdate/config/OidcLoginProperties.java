@@ -0,0 +1,30 @@
+package com.esdproject.facultyupdate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Local ID token validation for OpenID Connect logins (app.security.oidc.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.oidc")
+public class OidcLoginProperties {
+
+    // Off: the default user service, which calls the userinfo endpoint on every login
+    private boolean enabled = false;
+
+    // How often each provider's JWK set is fetched in the background
+    private Duration jwkRefreshInterval = Duration.ofHours(1);
+
+    // A token signed with an unknown key refetches the JWK set at most this often
+    private Duration jwkMinRefreshInterval = Duration.ofSeconds(30);
+
+    // Allowed clock difference when checking iat/exp
+    private Duration clockSkew = Duration.ofSeconds(60);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(3);
+}
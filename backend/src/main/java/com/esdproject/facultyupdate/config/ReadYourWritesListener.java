@@ -0,0 +1,78 @@
+package com.esdproject.facultyupdate.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Pins a user to the primary once a transaction of theirs has flushed an insert,
+ * update or delete and committed. Transactions that only read from the primary
+ * (e.g. long polls, or checks that must see rows committed a moment ago) leave
+ * the user on the replicas.
+ */
+class ReadYourWritesListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    ReadYourWritesListener(EntityManagerFactory entityManagerFactory, ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        written();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        written();
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        written();
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void written() {
+        String user = ReadWriteRoutingDataSource.currentUser();
+        // Bound as a resource so a transaction flushing many rows registers once
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, user);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The window is measured from when the data actually became visible
+                readYourWritesTracker.recordWrite(user);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesListener.this);
+            }
+        });
+    }
+}
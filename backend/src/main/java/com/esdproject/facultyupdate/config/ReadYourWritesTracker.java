@@ -0,0 +1,52 @@
+package com.esdproject.facultyupdate.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers which users wrote recently so their reads can be pinned to the
+ * primary until the replicas have had time to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String user) {
+        long now = System.nanoTime();
+        lastWrites.put(user, now);
+        // At most once per window: users who write and never read again are dropped here,
+        // so the map only holds writers from the last two windows
+        long swept = lastSweep.get();
+        if (now - swept >= windowNanos && lastSweep.compareAndSet(swept, now)) {
+            lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+        }
+    }
+
+    /**
+     * @return true if the user wrote within the read-your-writes window
+     */
+    public boolean isPinned(String user) {
+        Long lastWrite = lastWrites.get(user);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        // Window expired - drop the entry so the map only holds recent writers
+        lastWrites.remove(user, lastWrite);
+        return false;
+    }
+
+    int size() {
+        return lastWrites.size();
+    }
+}
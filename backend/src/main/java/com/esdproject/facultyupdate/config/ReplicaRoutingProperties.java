@@ -0,0 +1,38 @@
+package com.esdproject.facultyupdate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for read/write datasource routing (app.datasource.routing.*).
+ * The primary connection settings stay under spring.datasource.*
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    // Read replicas used by @Transactional(readOnly = true) methods, picked round-robin
+    private List<Replica> replicas = new ArrayList<>();
+
+    // How long a user's reads stay on the primary after they write
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // Apply the Flyway migrations to every replica at startup (embedded/local replicas only;
+    // real replicas receive the schema through replication)
+    private boolean migrateReplicas = false;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -1,11 +1,21 @@
 package com.esdproject.facultyupdate.config;
 
+import com.esdproject.facultyupdate.service.AuthenticationService;
+import com.esdproject.facultyupdate.service.LocalOidcUserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -17,10 +27,19 @@ import jakarta.servlet.http.HttpServletResponse;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({AdmissionControlProperties.class, IdempotencyProperties.class, OidcLoginProperties.class})
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AdmissionControlProperties admissionControlProperties,
+                                                   IdempotencyProperties idempotencyProperties,
+                                                   AuthenticationService authenticationService,
+                                                   ObjectMapper objectMapper,
+                                                   MeterRegistry meterRegistry,
+                                                   ObjectProvider<LocalOidcUserService> localOidcUserService,
+                                                   Environment environment) throws Exception {
+        boolean stubIdp = environment.acceptsProfiles(Profiles.of("stub-idp"));
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -29,11 +48,18 @@ public class SecurityConfig {
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**").permitAll()
                 .requestMatchers("/api/departments", "/api/courses").permitAll()
                 .requestMatchers("/uploads/**").permitAll()  // Allow public access to uploaded files
+                // Open only with the stub-idp profile, which refuses to start alongside prod
+                .requestMatchers("/stub-idp/**").access((authentication, context) -> new AuthorizationDecision(stubIdp))
+                // Change events carry full profile snapshots; checked here as SSE clients cannot take a JSON error body
+                .requestMatchers("/api/changes/**").access((authentication, context) ->
+                        new AuthorizationDecision(authenticationService.isCurrentUserAdmin()))
                 .anyRequest().authenticated()
             )
             .oauth2Login(oauth2 -> oauth2
                 .defaultSuccessUrl("http://localhost:3000/faculty", true)
                 .failureUrl("http://localhost:3000/login?error=true")
+                // With app.security.oidc.enabled the principal comes from the ID token, without a userinfo call
+                .userInfoEndpoint(userInfo -> localOidcUserService.ifAvailable(userInfo::oidcUserService))
             )
 
             .logout(logout -> logout
@@ -47,7 +73,12 @@ public class SecurityConfig {
             )
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
-            );
+            )
+            // Rate limits and bulkheads apply once the principal is known
+            .addFilterAfter(new IdempotencyFilter(idempotencyProperties, authenticationService,
+                    objectMapper, meterRegistry), AuthorizationFilter.class)
+            .addFilterAfter(new AdmissionControlFilter(admissionControlProperties, authenticationService,
+                    objectMapper, meterRegistry), IdempotencyFilter.class);
 
         return http.build();
     }
@@ -56,8 +87,9 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("Location", "Upload-Offset", "Idempotent-Replayed", "Retry-After"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,24 @@
+package com.esdproject.facultyupdate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+import java.time.Duration;
+
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * Gives every transaction a timeout, 30s unless spring.transaction.default-timeout says
+     * otherwise. The change feed relay relies on it: an outbox row that has not committed
+     * within this time never will, so its gap can be skipped.
+     */
+    @Bean
+    public TransactionManagerCustomizer<AbstractPlatformTransactionManager> defaultTransactionTimeout(
+            @Value("${spring.transaction.default-timeout:30s}") Duration timeout) {
+        return transactionManager -> transactionManager.setDefaultTimeout((int) timeout.toSeconds());
+    }
+}
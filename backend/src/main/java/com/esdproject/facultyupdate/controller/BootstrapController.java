@@ -0,0 +1,47 @@
+package com.esdproject.facultyupdate.controller;
+
+import com.esdproject.facultyupdate.dto.ApiResponse;
+import com.esdproject.facultyupdate.dto.BootstrapResponse;
+import com.esdproject.facultyupdate.service.BootstrapService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/bootstrap")
+@RequiredArgsConstructor
+@Tag(name = "Bootstrap", description = "Initial data for the profile screen")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class BootstrapController {
+
+    private final BootstrapService bootstrapService;
+
+    /**
+     * User info, own profile, departments and courses in one call.
+     * X-Known-ETags lists section ETags the client has cached (comma separated).
+     */
+    @GetMapping
+    @Operation(summary = "Get user, profile and reference data for the profile screen")
+    public ResponseEntity<ApiResponse<BootstrapResponse>> bootstrap(
+            @RequestHeader(value = "X-Known-ETags", required = false) String knownEtags) {
+        return ResponseEntity.ok(ApiResponse.success(bootstrapService.load(parseEtags(knownEtags))));
+    }
+
+    private Set<String> parseEtags(String header) {
+        if (header == null || header.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(header.split(","))
+                .map(String::trim)
+                .map(etag -> etag.startsWith("W/") ? etag.substring(2) : etag)
+                .map(etag -> etag.replace("\"", ""))
+                .filter(etag -> !etag.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,46 @@
+package com.esdproject.facultyupdate.controller;
+
+import com.esdproject.facultyupdate.dto.ApiResponse;
+import com.esdproject.facultyupdate.dto.CourseOccupancy;
+import com.esdproject.facultyupdate.dto.DepartmentOccupancy;
+import com.esdproject.facultyupdate.exception.ResourceNotFoundException;
+import com.esdproject.facultyupdate.service.CapacityTracker;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/capacity")
+@RequiredArgsConstructor
+@Tag(name = "Capacity", description = "Live occupancy of departments and courses")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class CapacityController {
+
+    private final CapacityTracker capacityTracker;
+
+    @GetMapping("/departments")
+    @Operation(summary = "Faculty headcount against capacity for every department")
+    public ResponseEntity<ApiResponse<List<DepartmentOccupancy>>> getDepartmentOccupancy() {
+        return ResponseEntity.ok(ApiResponse.success(capacityTracker.getDepartmentOccupancy()));
+    }
+
+    @GetMapping("/departments/{departmentId}")
+    @Operation(summary = "Faculty headcount against capacity for one department")
+    public ResponseEntity<ApiResponse<DepartmentOccupancy>> getDepartmentOccupancy(@PathVariable Integer departmentId) {
+        DepartmentOccupancy occupancy = capacityTracker.getDepartmentOccupancy().stream()
+                .filter(department -> department.getDepartmentId().equals(departmentId))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + departmentId));
+        return ResponseEntity.ok(ApiResponse.success(occupancy));
+    }
+
+    @GetMapping("/courses")
+    @Operation(summary = "Capacity and assignment of every course")
+    public ResponseEntity<ApiResponse<List<CourseOccupancy>>> getCourseOccupancy() {
+        return ResponseEntity.ok(ApiResponse.success(capacityTracker.getCourseOccupancy()));
+    }
+}
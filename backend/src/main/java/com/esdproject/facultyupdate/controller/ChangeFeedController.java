@@ -0,0 +1,60 @@
+package com.esdproject.facultyupdate.controller;
+
+import com.esdproject.facultyupdate.dto.ApiResponse;
+import com.esdproject.facultyupdate.dto.ChangeFeedPage;
+import com.esdproject.facultyupdate.service.ChangeFeedRelay;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Change Feed", description = "Committed faculty changes for downstream systems")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class ChangeFeedController {
+
+    private static final int MAX_LIMIT = ChangeFeedRelay.PAGE_SIZE;
+    // Stays below the servlet container's default async timeout (30s)
+    private static final int MAX_WAIT_SECONDS = 25;
+
+    private final ChangeFeedRelay changeFeedRelay;
+
+    /**
+     * Server-Sent Events stream. Each event's id is its sequence number; browsers resend
+     * it as Last-Event-ID on reconnect, other clients can pass ?after= instead.
+     * Without either the stream starts at the current position.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes as Server-Sent Events")
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                             @RequestParam(required = false) Long after) {
+        return changeFeedRelay.subscribe(lastEventId != null ? lastEventId : after);
+    }
+
+    /**
+     * Long poll: returns the changes after the given sequence, waiting up to wait seconds
+     * for the first one. Continue with the returned nextAfter.
+     */
+    @GetMapping
+    @Operation(summary = "Get changes after a sequence number (long poll)")
+    public CompletableFuture<ResponseEntity<ApiResponse<ChangeFeedPage>>> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "20") int wait) {
+        if (after < 0) {
+            throw new IllegalArgumentException("after must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Duration timeout = Duration.ofSeconds(Math.max(0, Math.min(wait, MAX_WAIT_SECONDS)));
+        return changeFeedRelay.poll(after, pageSize, timeout)
+                .thenApply(page -> ResponseEntity.ok(ApiResponse.success(page)));
+    }
+}
@@ -1,9 +1,12 @@
 package com.esdproject.facultyupdate.controller;
 
+import com.esdproject.facultyupdate.config.FieldSelectionAdvice;
 import com.esdproject.facultyupdate.dto.ApiResponse;
 import com.esdproject.facultyupdate.entity.Course;
 import com.esdproject.facultyupdate.service.CourseService;
+import com.esdproject.facultyupdate.service.SingleFlight;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -19,11 +22,15 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final SingleFlight singleFlight;
 
     @GetMapping
     @Operation(summary = "Get all courses")
-    public ResponseEntity<ApiResponse<List<Course>>> getAllCourses() {
-        List<Course> courses = courseService.getAllCourses();
+    public ResponseEntity<ApiResponse<List<Course>>> getAllCourses(
+            // Applied by FieldSelectionAdvice; declared here for the API docs
+            @Parameter(description = "Comma-separated fields to return, e.g. courseId,courseCode,name")
+            @RequestParam(value = FieldSelectionAdvice.FIELDS_PARAM, required = false) String fields) {
+        List<Course> courses = singleFlight.execute("courses", courseService::getAllCourses);
         return ResponseEntity.ok(ApiResponse.success(courses));
     }
 }
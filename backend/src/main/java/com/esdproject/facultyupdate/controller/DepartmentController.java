@@ -3,6 +3,7 @@ package com.esdproject.facultyupdate.controller;
 import com.esdproject.facultyupdate.dto.ApiResponse;
 import com.esdproject.facultyupdate.entity.Department;
 import com.esdproject.facultyupdate.service.DepartmentService;
+import com.esdproject.facultyupdate.service.SingleFlight;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -19,11 +20,12 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final SingleFlight singleFlight;
 
     @GetMapping
     @Operation(summary = "Get all departments")
     public ResponseEntity<ApiResponse<List<Department>>> getAllDepartments() {
-        List<Department> departments = departmentService.getAllDepartments();
+        List<Department> departments = singleFlight.execute("departments", departmentService::getAllDepartments);
         return ResponseEntity.ok(ApiResponse.success(departments));
     }
 }
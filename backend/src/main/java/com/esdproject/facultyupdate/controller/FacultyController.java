@@ -1,13 +1,29 @@
 package com.esdproject.facultyupdate.controller;
 
+import com.esdproject.facultyupdate.config.FieldSelectionAdvice;
 import com.esdproject.facultyupdate.dto.ApiResponse;
+import com.esdproject.facultyupdate.dto.DirectorySearchResult;
+import com.esdproject.facultyupdate.dto.FacultyBatchRequest;
+import com.esdproject.facultyupdate.dto.FacultyBatchResponse;
 import com.esdproject.facultyupdate.dto.FacultyRegistrationRequest;
 import com.esdproject.facultyupdate.dto.FacultyResponse;
 import com.esdproject.facultyupdate.dto.FacultyUpdateRequest;
+import com.esdproject.facultyupdate.dto.FieldSelection;
+import com.esdproject.facultyupdate.dto.PhotoUploadRequest;
+import com.esdproject.facultyupdate.dto.PhotoUploadStatus;
+import com.esdproject.facultyupdate.dto.ProfileHistoryEntry;
+import com.esdproject.facultyupdate.exception.UnauthorizedAccessException;
+import com.esdproject.facultyupdate.service.AuditTrailService;
+import com.esdproject.facultyupdate.service.AuthenticationService;
+import com.esdproject.facultyupdate.service.FacultyDirectoryIndex;
 import com.esdproject.facultyupdate.service.FacultyService;
-import com.esdproject.facultyupdate.service.FileStorageService;
+import com.esdproject.facultyupdate.service.PhotoPromotionService;
+import com.esdproject.facultyupdate.service.PhotoUploadService;
+import com.esdproject.facultyupdate.service.SingleFlight;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -16,6 +32,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -25,8 +43,15 @@ import java.util.List;
 @CrossOrigin(origins = "${app.cors.allowed-origins}")
 public class FacultyController {
 
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
     private final FacultyService facultyService;
-    private final FileStorageService fileStorageService;
+    private final PhotoPromotionService photoPromotionService;
+    private final AuditTrailService auditTrailService;
+    private final AuthenticationService authenticationService;
+    private final SingleFlight singleFlight;
+    private final FacultyDirectoryIndex facultyDirectoryIndex;
+    private final PhotoUploadService photoUploadService;
 
     @PostMapping
     @Operation(summary = "Register a new faculty member")
@@ -42,8 +67,12 @@ public class FacultyController {
      */
     @GetMapping("/me")
     @Operation(summary = "Get current faculty member's profile")
-    public ResponseEntity<ApiResponse<FacultyResponse>> getCurrentFacultyProfile() {
-        FacultyResponse response = facultyService.getCurrentFacultyProfile();
+    public ResponseEntity<ApiResponse<FacultyResponse>> getCurrentFacultyProfile(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,firstName,courses.courseCode")
+            @RequestParam(value = FieldSelectionAdvice.FIELDS_PARAM, required = false) String fields) {
+        FacultyResponse response = FieldSelection.parse(fields).includes("courses")
+                ? singleFlight.execute(profileKey(), facultyService::getCurrentFacultyProfile)
+                : singleFlight.execute(profileKey() + ":no-courses", () -> facultyService.getCurrentFacultyProfile(false));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -55,9 +84,59 @@ public class FacultyController {
     public ResponseEntity<ApiResponse<FacultyResponse>> updateCurrentFacultyProfile(
             @Valid @RequestBody FacultyUpdateRequest request) {
         FacultyResponse response = facultyService.updateCurrentFacultyProfile(request);
+        forgetProfile();
         return ResponseEntity.ok(ApiResponse.success("Profile updated successfully", response));
     }
 
+    /**
+     * Change history of the current logged-in faculty member's profile
+     */
+    @GetMapping("/me/history")
+    @Operation(summary = "Get the change history of the current faculty member's profile")
+    public ResponseEntity<ApiResponse<List<ProfileHistoryEntry>>> getCurrentFacultyHistory() {
+        FacultyResponse current = singleFlight.execute(profileKey(), facultyService::getCurrentFacultyProfile);
+        return ResponseEntity.ok(ApiResponse.success(auditTrailService.getHistory(current.getId())));
+    }
+
+    /**
+     * Administrators only: change history of any faculty member's profile, including deleted ones
+     */
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Get the change history of a faculty member's profile (admin only)")
+    public ResponseEntity<ApiResponse<List<ProfileHistoryEntry>>> getFacultyHistory(@PathVariable Integer id) {
+        if (!authenticationService.isCurrentUserAdmin()) {
+            throw new UnauthorizedAccessException("Profile history by ID is limited to administrators. Use /api/faculty/me/history for your own profile.");
+        }
+        return ResponseEntity.ok(ApiResponse.success(auditTrailService.getHistory(id)));
+    }
+
+    /**
+     * Faculty directory: find colleagues by name, title, department or course code
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search the faculty directory")
+    public ResponseEntity<ApiResponse<DirectorySearchResult>> searchDirectory(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > 100) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and 100");
+        }
+        // Any Google account can sign in; only colleagues may look each other up
+        facultyService.requireRegisteredFaculty("The faculty directory is limited to registered faculty members.");
+        return ResponseEntity.ok(ApiResponse.success(facultyDirectoryIndex.search(query, page, size)));
+    }
+
+    /**
+     * Administrators only: profiles for many IDs and/or employee codes in one call
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Look up many faculty profiles at once (admin only)")
+    public ResponseEntity<ApiResponse<FacultyBatchResponse>> getFacultyBatch(
+            @Valid @RequestBody FacultyBatchRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(facultyService.getFacultyBatch(request)));
+    }
+
     /**
      * DEPRECATED: Use /me endpoint instead
      * This endpoint is restricted for security - faculty can only update their own data
@@ -82,36 +161,88 @@ public class FacultyController {
             @RequestParam("file") MultipartFile file) {
         try {
             // Get current user's profile first to get the employee ID
-            FacultyResponse existing = facultyService.getCurrentFacultyProfile();
-            
-            // Store file with employee ID as name
-            String filePath = fileStorageService.storeFile(file, existing.getEmployeeId());
-            
-            if (filePath != null) {
-                // Update with new photo path
-                FacultyUpdateRequest updateRequest = new FacultyUpdateRequest();
-                updateRequest.setId(existing.getId());
-                updateRequest.setPhotographPath(filePath);
-                updateRequest.setFirstName(existing.getFirstName());
-                updateRequest.setLastName(existing.getLastName());
-                updateRequest.setEmail(existing.getEmail());
-                updateRequest.setTitle(existing.getTitle());
-                updateRequest.setDepartmentId(existing.getDepartment().getDepartmentId());
-                updateRequest.setCourseIds(existing.getCourses().stream()
-                        .map(FacultyResponse.CourseDto::getCourseId)
-                        .toList());
-                
-                facultyService.updateFaculty(updateRequest);
-                return ResponseEntity.ok(ApiResponse.success("Photo uploaded successfully", filePath));
+            FacultyResponse existing = facultyService.getCurrentFacultyProfile(false);
+
+            if (file == null || file.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Failed to upload photo"));
             }
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Failed to upload photo"));
+
+            // Staged under a fresh name; only the path goes through the transaction
+            String filePath = photoPromotionService.stage(file, existing.getEmployeeId());
+            try {
+                facultyService.updateCurrentFacultyPhoto(filePath);
+            } catch (RuntimeException e) {
+                photoPromotionService.discard(filePath);
+                throw e;
+            }
+            forgetProfile();
+            return ResponseEntity.ok(ApiResponse.success("Photo uploaded successfully", filePath));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error uploading photo: " + e.getMessage()));
         }
     }
 
+    /**
+     * Start a resumable photo upload; chunks are then sent with PATCH /me/uploads/{uploadId}
+     */
+    @PostMapping("/me/uploads")
+    @Operation(summary = "Start a resumable photo upload")
+    public ResponseEntity<ApiResponse<PhotoUploadStatus>> createPhotoUpload(
+            @Valid @RequestBody PhotoUploadRequest request) {
+        PhotoUploadStatus status = photoUploadService.create(request);
+        return ResponseEntity.created(URI.create("/api/faculty/me/uploads/" + status.getUploadId()))
+                .header(UPLOAD_OFFSET, String.valueOf(status.getOffset()))
+                .body(ApiResponse.success("Upload created", status));
+    }
+
+    /**
+     * Offset to resume a photo upload from
+     */
+    @GetMapping("/me/uploads/{uploadId}")
+    @Operation(summary = "Get the progress of a resumable photo upload")
+    public ResponseEntity<ApiResponse<PhotoUploadStatus>> getPhotoUpload(@PathVariable String uploadId) {
+        PhotoUploadStatus status = photoUploadService.status(uploadId);
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(status.getOffset()))
+                .body(ApiResponse.success(status));
+    }
+
+    /**
+     * Append the request body at Upload-Offset, which must equal the bytes received so far
+     */
+    @PatchMapping(value = "/me/uploads/{uploadId}",
+            consumes = {"application/offset+octet-stream", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Send the next chunk of a resumable photo upload")
+    public ResponseEntity<ApiResponse<PhotoUploadStatus>> appendPhotoUpload(
+            @PathVariable String uploadId,
+            @RequestHeader(UPLOAD_OFFSET) long offset,
+            HttpServletRequest request) throws IOException {
+        PhotoUploadStatus status = photoUploadService.append(uploadId, offset, request.getInputStream());
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(status.getOffset()))
+                .body(ApiResponse.success(status));
+    }
+
+    /**
+     * Verify the finished upload and make it the current faculty member's photograph
+     */
+    @PostMapping("/me/uploads/{uploadId}/complete")
+    @Operation(summary = "Complete a resumable photo upload")
+    public ResponseEntity<ApiResponse<PhotoUploadStatus>> completePhotoUpload(@PathVariable String uploadId) {
+        PhotoUploadStatus status = photoUploadService.complete(uploadId);
+        forgetProfile();
+        return ResponseEntity.ok(ApiResponse.success("Photo uploaded successfully", status));
+    }
+
+    @DeleteMapping("/me/uploads/{uploadId}")
+    @Operation(summary = "Cancel a resumable photo upload")
+    public ResponseEntity<ApiResponse<Object>> cancelPhotoUpload(@PathVariable String uploadId) {
+        photoUploadService.cancel(uploadId);
+        return ResponseEntity.ok(ApiResponse.success("Upload cancelled", null));
+    }
+
     /**
      * DEPRECATED: Use /me endpoint instead
      * This endpoint is restricted for security
@@ -149,5 +280,14 @@ public class FacultyController {
         return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body(ApiResponse.error("Faculty members cannot delete accounts. Please contact administrator."));
     }
-}
 
+    // Concurrent /me reads of the same user share one database load
+    private String profileKey() {
+        return FacultyService.profileFlightKey(authenticationService.getCurrentUserEmail());
+    }
+
+    private void forgetProfile() {
+        singleFlight.forget(profileKey());
+        singleFlight.forget(profileKey() + ":no-courses");
+    }
+}
@@ -0,0 +1,131 @@
+package com.esdproject.facultyupdate.controller;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimal OpenID Connect provider for local runs and load tests of the login path
+ * (profile stub-idp). Every authorization request is approved at once for
+ * app.stub-idp.email (or the login_hint), and ID tokens are signed with an RSA key
+ * generated at startup and published at /stub-idp/jwks. Not for production use: the
+ * application refuses to start with both the stub-idp and prod profiles.
+ */
+@Hidden
+@RestController
+@RequestMapping("/stub-idp")
+@Profile("stub-idp")
+public class StubIdentityProviderController {
+
+    private static final Duration CODE_TTL = Duration.ofMinutes(1);
+    private static final Duration TOKEN_TTL = Duration.ofHours(1);
+
+    private record PendingCode(String clientId, String redirectUri, String nonce, String scope, String email,
+                               Instant expiresAt) {
+    }
+
+    private final String issuer;
+    private final String defaultEmail;
+    private final RSAKey signingKey;
+    private final Map<String, PendingCode> codes = new ConcurrentHashMap<>();
+
+    public StubIdentityProviderController(Environment environment,
+                                          @Value("${app.stub-idp.issuer:http://localhost:8080/stub-idp}") String issuer,
+                                          @Value("${app.stub-idp.email:faculty19019@gmail.com}") String defaultEmail)
+            throws JOSEException {
+        if (environment.acceptsProfiles(Profiles.of("prod"))) {
+            throw new IllegalStateException("The stub-idp profile approves every login and must not be combined with prod.");
+        }
+        this.issuer = issuer;
+        this.defaultEmail = defaultEmail;
+        this.signingKey = new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+    }
+
+    @GetMapping("/authorize")
+    public ResponseEntity<Void> authorize(@RequestParam("client_id") String clientId,
+                                          @RequestParam("redirect_uri") String redirectUri,
+                                          @RequestParam(value = "state", required = false) String state,
+                                          @RequestParam(value = "nonce", required = false) String nonce,
+                                          @RequestParam(value = "scope", defaultValue = "openid") String scope,
+                                          @RequestParam(value = "login_hint", required = false) String loginHint) {
+        codes.values().removeIf(pending -> pending.expiresAt().isBefore(Instant.now()));
+        String code = UUID.randomUUID().toString();
+        codes.put(code, new PendingCode(clientId, redirectUri, nonce, scope,
+                loginHint != null ? loginHint : defaultEmail, Instant.now().plus(CODE_TTL)));
+
+        UriComponentsBuilder location = UriComponentsBuilder.fromUriString(redirectUri).queryParam("code", code);
+        if (state != null) {
+            location.queryParam("state", state);
+        }
+        return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(location.build().encode().toUriString())).build();
+    }
+
+    @PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<Map<String, Object>> token(@RequestParam("grant_type") String grantType,
+                                                     @RequestParam("code") String code,
+                                                     @RequestParam(value = "redirect_uri", required = false) String redirectUri)
+            throws JOSEException {
+        PendingCode pending = codes.remove(code);
+        if (!"authorization_code".equals(grantType) || pending == null || pending.expiresAt().isBefore(Instant.now())
+                || (redirectUri != null && !redirectUri.equals(pending.redirectUri()))) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_grant"));
+        }
+
+        Instant now = Instant.now();
+        JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(pending.email().toLowerCase())
+                .audience(pending.clientId())
+                .claim("azp", pending.clientId())
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(TOKEN_TTL)))
+                .claim("email", pending.email())
+                .claim("email_verified", true);
+        if (pending.nonce() != null) {
+            claims.claim("nonce", pending.nonce());
+        }
+        SignedJWT idToken = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+                claims.build());
+        idToken.sign(new RSASSASigner(signingKey));
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(Map.of(
+                        "access_token", UUID.randomUUID().toString(),
+                        "token_type", "Bearer",
+                        "expires_in", TOKEN_TTL.toSeconds(),
+                        "scope", pending.scope(),
+                        "id_token", idToken.serialize()));
+    }
+
+    @GetMapping(value = "/jwks", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> jwks() {
+        return new JWKSet(List.of(signingKey.toPublicJWK())).toJSONObject();
+    }
+}
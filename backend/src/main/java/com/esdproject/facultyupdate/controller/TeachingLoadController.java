@@ -0,0 +1,57 @@
+package com.esdproject.facultyupdate.controller;
+
+import com.esdproject.facultyupdate.dto.ApiResponse;
+import com.esdproject.facultyupdate.dto.TeachingLoad;
+import com.esdproject.facultyupdate.exception.UnauthorizedAccessException;
+import com.esdproject.facultyupdate.service.AuthenticationService;
+import com.esdproject.facultyupdate.service.FacultyService;
+import com.esdproject.facultyupdate.service.TeachingLoadAggregates;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/teaching-load")
+@RequiredArgsConstructor
+@Tag(name = "Teaching Load", description = "Course credits per faculty member and department, by term")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class TeachingLoadController {
+
+    private final TeachingLoadAggregates teachingLoadAggregates;
+    private final FacultyService facultyService;
+    private final AuthenticationService authenticationService;
+
+    /**
+     * Teaching load of the current logged-in faculty member
+     */
+    @GetMapping("/me")
+    @Operation(summary = "Get the current faculty member's teaching load by term")
+    public ResponseEntity<ApiResponse<List<TeachingLoad>>> getOwnLoad() {
+        Integer facultyId = facultyService.getCurrentFacultyProfile(false).getId();
+        return ResponseEntity.ok(ApiResponse.success(teachingLoadAggregates.getFacultyLoad(facultyId)));
+    }
+
+    @GetMapping("/faculty/{facultyId}")
+    @Operation(summary = "Get a faculty member's teaching load by term (admin only)")
+    public ResponseEntity<ApiResponse<List<TeachingLoad>>> getFacultyLoad(@PathVariable Integer facultyId) {
+        requireAdmin();
+        return ResponseEntity.ok(ApiResponse.success(teachingLoadAggregates.getFacultyLoad(facultyId)));
+    }
+
+    @GetMapping("/departments/{departmentId}")
+    @Operation(summary = "Get a department's teaching load by term (admin only)")
+    public ResponseEntity<ApiResponse<List<TeachingLoad>>> getDepartmentLoad(@PathVariable Integer departmentId) {
+        requireAdmin();
+        return ResponseEntity.ok(ApiResponse.success(teachingLoadAggregates.getDepartmentLoad(departmentId)));
+    }
+
+    private void requireAdmin() {
+        if (!authenticationService.isCurrentUserAdmin()) {
+            throw new UnauthorizedAccessException("Teaching load reports are limited to administrators.");
+        }
+    }
+}
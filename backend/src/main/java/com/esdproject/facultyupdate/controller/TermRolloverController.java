@@ -0,0 +1,56 @@
+package com.esdproject.facultyupdate.controller;
+
+import com.esdproject.facultyupdate.dto.ApiResponse;
+import com.esdproject.facultyupdate.dto.TermRolloverRequest;
+import com.esdproject.facultyupdate.entity.TermRolloverJob;
+import com.esdproject.facultyupdate.service.TermRolloverService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/rollover/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Term Rollover", description = "End-of-term archiving and release of course assignments (admin only)")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class TermRolloverController {
+
+    private final TermRolloverService termRolloverService;
+
+    /**
+     * Starts a rollover job; it runs in the background, poll the job for progress
+     */
+    @PostMapping
+    @Operation(summary = "Start a term rollover job")
+    public ResponseEntity<ApiResponse<TermRolloverJob>> start(@Valid @RequestBody TermRolloverRequest request) {
+        TermRolloverJob job = termRolloverService.start(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Term rollover started", job));
+    }
+
+    @GetMapping
+    @Operation(summary = "List the most recent term rollover jobs")
+    public ResponseEntity<ApiResponse<List<TermRolloverJob>>> list() {
+        return ResponseEntity.ok(ApiResponse.success(termRolloverService.list()));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get a term rollover job and its progress")
+    public ResponseEntity<ApiResponse<TermRolloverJob>> get(@PathVariable Long jobId) {
+        return ResponseEntity.ok(ApiResponse.success(termRolloverService.get(jobId)));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @Operation(summary = "Resume a failed term rollover job from its checkpoint")
+    public ResponseEntity<ApiResponse<TermRolloverJob>> resume(@PathVariable Long jobId) {
+        TermRolloverJob job = termRolloverService.resume(jobId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Term rollover resumed", job));
+    }
+}
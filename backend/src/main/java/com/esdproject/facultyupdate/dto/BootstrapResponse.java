@@ -0,0 +1,45 @@
+package com.esdproject.facultyupdate.dto;
+
+import com.esdproject.facultyupdate.entity.Course;
+import com.esdproject.facultyupdate.entity.Department;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the profile screen needs on load, in one response
+ */
+@Data
+public class BootstrapResponse {
+    private Map<String, Object> user;
+    private Section<FacultyResponse> profile;
+    private Section<List<Department>> departments;
+    private Section<List<Course>> courses;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Section<T> {
+        private String etag;
+        private boolean notModified;  // the client's copy (sent in X-Known-ETags) is current; data omitted
+        private T data;
+        private String error;  // set instead of data when the section could not be loaded
+
+        public static <T> Section<T> of(String etag, T data) {
+            return new Section<>(etag, false, data, null);
+        }
+
+        public static <T> Section<T> unchanged(String etag) {
+            return new Section<>(etag, true, null, null);
+        }
+
+        public static <T> Section<T> failed(String error) {
+            return new Section<>(null, false, null, error);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.esdproject.facultyupdate.dto;
+
+import com.esdproject.facultyupdate.entity.ChangeOutboxEvent;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class ChangeFeedEvent {
+    private Long sequence;
+    private String aggregateType;
+    private Integer aggregateId;
+    private String type;
+    private Instant occurredAt;
+
+    @JsonRawValue
+    private String payload;  // {"before": ..., "after": ...}
+
+    @JsonIgnore
+    private String origin;  // instance that wrote it; internal
+
+    public static ChangeFeedEvent from(ChangeOutboxEvent event) {
+        ChangeFeedEvent feedEvent = new ChangeFeedEvent();
+        feedEvent.setSequence(event.getId());
+        feedEvent.setAggregateType(event.getAggregateType());
+        feedEvent.setAggregateId(event.getAggregateId());
+        feedEvent.setType(event.getEventType());
+        feedEvent.setOccurredAt(event.getCreatedAt());
+        feedEvent.setPayload(event.getPayload());
+        feedEvent.setOrigin(event.getOrigin());
+        return feedEvent;
+    }
+}
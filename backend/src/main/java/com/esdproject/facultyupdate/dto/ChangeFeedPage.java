@@ -0,0 +1,15 @@
+package com.esdproject.facultyupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedPage {
+    private List<ChangeFeedEvent> events;
+    private Long nextAfter;  // pass as ?after= on the next poll
+}
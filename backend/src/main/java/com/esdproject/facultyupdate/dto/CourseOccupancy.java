@@ -0,0 +1,15 @@
+package com.esdproject.facultyupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseOccupancy {
+    private Integer courseId;
+    private String courseCode;
+    private Integer capacity;
+    private boolean assigned;  // a faculty member teaches it (each course has at most one)
+}
@@ -0,0 +1,16 @@
+package com.esdproject.facultyupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentOccupancy {
+    private Integer departmentId;
+    private String name;
+    private Integer capacity;  // null when the department has no limit
+    private int occupied;
+    private Integer available;  // null when the department has no limit
+}
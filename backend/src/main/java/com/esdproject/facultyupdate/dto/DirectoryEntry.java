@@ -0,0 +1,26 @@
+package com.esdproject.facultyupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One faculty directory search hit. No email: the directory is for finding
+ * colleagues, not for harvesting contact addresses.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectoryEntry {
+    private Integer id;
+    private String employeeId;
+    private String firstName;
+    private String lastName;
+    private String title;
+    private String photographPath;
+    private Integer departmentId;
+    private String departmentName;
+    private List<String> courseCodes;
+}
@@ -0,0 +1,17 @@
+package com.esdproject.facultyupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectorySearchResult {
+    private List<DirectoryEntry> results;  // best match first
+    private int page;
+    private int size;
+    private int totalResults;
+}
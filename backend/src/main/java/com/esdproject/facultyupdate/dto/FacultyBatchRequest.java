@@ -0,0 +1,20 @@
+package com.esdproject.facultyupdate.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class FacultyBatchRequest {
+
+    // Surrogate keys and/or user-facing employee codes; at least one must be given
+    @Size(max = FacultyBatchRequest.MAX_KEYS, message = "At most " + FacultyBatchRequest.MAX_KEYS + " ids per request")
+    private List<Integer> ids = new ArrayList<>();
+
+    @Size(max = FacultyBatchRequest.MAX_KEYS, message = "At most " + FacultyBatchRequest.MAX_KEYS + " employeeIds per request")
+    private List<String> employeeIds = new ArrayList<>();
+
+    public static final int MAX_KEYS = 5000;
+}
@@ -0,0 +1,16 @@
+package com.esdproject.facultyupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacultyBatchResponse {
+    private List<FacultyResponse> results;  // request order: ids first, then employeeIds; duplicates once
+    private List<Integer> missingIds;
+    private List<String> missingEmployeeIds;
+}
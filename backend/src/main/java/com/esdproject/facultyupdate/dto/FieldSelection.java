@@ -0,0 +1,57 @@
+package com.esdproject.facultyupdate.dto;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Parsed ?fields= parameter: dotted property paths relative to ApiResponse.data,
+ * e.g. "id,firstName,courses.courseCode". Array elements share their list's path.
+ */
+public final class FieldSelection {
+
+    public static final FieldSelection ALL = new FieldSelection(Set.of());
+
+    private final Set<String> paths;
+
+    private FieldSelection(Set<String> paths) {
+        this.paths = paths;
+    }
+
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> paths = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        return paths.isEmpty() ? ALL : new FieldSelection(paths);
+    }
+
+    public boolean isAll() {
+        return paths.isEmpty();
+    }
+
+    /**
+     * A path is included if it was requested, lies inside a requested object
+     * (fields=department covers department.name) or leads to a requested field
+     * (fields=courses.courseCode needs courses).
+     */
+    public boolean includes(String path) {
+        if (isAll() || paths.contains(path)) {
+            return true;
+        }
+        for (String requested : paths) {
+            if (path.startsWith(requested + ".") || requested.startsWith(path + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : String.join(",", paths.stream().sorted().toList());
+    }
+}
@@ -0,0 +1,22 @@
+package com.esdproject.facultyupdate.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class PhotoUploadRequest {
+
+    @NotBlank(message = "File name is required")
+    private String filename;
+
+    @NotNull(message = "File size is required")
+    @Positive(message = "File size must be positive")
+    private Long size;
+
+    // Hex SHA-256 of the whole file, checked when the upload is completed (optional)
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "sha256 must be 64 hex characters")
+    private String sha256;
+}
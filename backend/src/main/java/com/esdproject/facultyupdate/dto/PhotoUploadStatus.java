@@ -0,0 +1,15 @@
+package com.esdproject.facultyupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PhotoUploadStatus {
+    private String uploadId;
+    private long offset;  // bytes received so far; the next chunk starts here
+    private long size;
+    private String photographPath;  // set once the upload is completed
+}
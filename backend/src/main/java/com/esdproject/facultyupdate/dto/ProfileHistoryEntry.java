@@ -0,0 +1,27 @@
+package com.esdproject.facultyupdate.dto;
+
+import com.esdproject.facultyupdate.entity.ProfileAuditEntry;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class ProfileHistoryEntry {
+    private String entityType;  // EMPLOYEE or FACULTY_COURSE
+    private String fieldName;
+    private String oldValue;
+    private String newValue;
+    private String changedBy;
+    private Instant changedAt;
+
+    public static ProfileHistoryEntry from(ProfileAuditEntry entry) {
+        ProfileHistoryEntry historyEntry = new ProfileHistoryEntry();
+        historyEntry.setEntityType(entry.getEntityType());
+        historyEntry.setFieldName(entry.getFieldName());
+        historyEntry.setOldValue(entry.getOldValue());
+        historyEntry.setNewValue(entry.getNewValue());
+        historyEntry.setChangedBy(entry.getChangedBy());
+        historyEntry.setChangedAt(entry.getChangedAt());
+        return historyEntry;
+    }
+}
@@ -0,0 +1,15 @@
+package com.esdproject.facultyupdate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeachingLoad {
+    private String term;
+    private Integer year;
+    private int credits;  // sum of Course.credits
+    private int courses;
+}
@@ -0,0 +1,18 @@
+package com.esdproject.facultyupdate.dto;
+
+import com.esdproject.facultyupdate.entity.TermRolloverJob;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class TermRolloverRequest {
+
+    @NotBlank(message = "Term is required")
+    private String term;
+
+    private Integer year;  // optional: every year of the term when omitted
+
+    @NotNull(message = "Mode is required (RELEASE or CARRY_FORWARD)")
+    private TermRolloverJob.Mode mode;
+}
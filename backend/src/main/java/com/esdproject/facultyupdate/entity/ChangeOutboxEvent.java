@@ -0,0 +1,48 @@
+package com.esdproject.facultyupdate.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One committed change, waiting to be relayed to change feed consumers.
+ * The id is the sequence number consumers resume from.
+ */
+@Entity
+@Table(name = "change_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeOutboxEvent {
+
+    public static final String FACULTY = "FACULTY";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 30)
+    private String aggregateType;
+
+    // Surrogate employees.id for FACULTY events
+    @Column(name = "aggregate_id", nullable = false)
+    private Integer aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 30)
+    private String eventType;
+
+    // JSON document with the before/after state
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Instance that wrote the event (ChangeOutboxService.getOrigin)
+    @Column(name = "origin", length = 36)
+    private String origin;
+}
@@ -8,7 +8,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "faculty_courses", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"faculty", "course_id"}))
+       uniqueConstraints = {
+           @UniqueConstraint(columnNames = {"faculty", "course_id"}),
+           @UniqueConstraint(name = "uk_faculty_courses_course", columnNames = {"course_id"})  // one owner per course
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,50 @@
+package com.esdproject.facultyupdate.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One field-level change of a faculty profile (append-only).
+ * Rows are written in batches by AuditTrailService, not through JPA.
+ */
+@Entity
+@Table(name = "profile_audit_log")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileAuditEntry {
+
+    public static final String EMPLOYEE = "EMPLOYEE";
+    public static final String FACULTY_COURSE = "FACULTY_COURSE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    // Surrogate employees.id - deliberately not a foreign key so history outlives deletions
+    @Column(name = "employee", nullable = false)
+    private Integer employee;
+
+    @Column(name = "entity_type", nullable = false, length = 30)
+    private String entityType;
+
+    @Column(name = "field_name", nullable = false, length = 50)
+    private String fieldName;
+
+    @Column(name = "old_value", length = 255)
+    private String oldValue;
+
+    @Column(name = "new_value", length = 255)
+    private String newValue;
+
+    @Column(name = "changed_by", length = 100)
+    private String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
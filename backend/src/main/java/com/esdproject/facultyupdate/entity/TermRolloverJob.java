@@ -0,0 +1,83 @@
+package com.esdproject.facultyupdate.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * End-of-term batch job over the course assignments of one term (and optionally year).
+ * Progress columns are advanced by TermRolloverService with plain SQL, one chunk per
+ * transaction.
+ */
+@Entity
+@Table(name = "term_rollover_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TermRolloverJob {
+
+    public enum Mode {
+        RELEASE,        // archive the assignments, then remove them and clear Course.faculty
+        CARRY_FORWARD   // archive the assignments and keep them for the next term
+    }
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "term", nullable = false, length = 20)
+    private String term;
+
+    // null for every year of the term
+    @Column(name = "year")
+    private Integer year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 20)
+    private Mode mode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    // Checkpoint: courses up to this id have been processed
+    @Column(name = "last_course_id", nullable = false)
+    private Integer lastCourseId;
+
+    @Column(name = "total_courses", nullable = false)
+    private Integer totalCourses;
+
+    @Column(name = "processed_courses", nullable = false)
+    private Integer processedCourses;
+
+    @Column(name = "archived_assignments", nullable = false)
+    private Integer archivedAssignments;
+
+    @Column(name = "released_assignments", nullable = false)
+    private Integer releasedAssignments;
+
+    @Column(name = "error", length = 255)
+    private String error;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public int getPercentComplete() {
+        if (status == Status.COMPLETED || totalCourses == null || totalCourses == 0) {
+            return status == Status.COMPLETED ? 100 : 0;
+        }
+        return (int) Math.min(100, processedCourses * 100L / totalCourses);
+    }
+}
@@ -0,0 +1,23 @@
+package com.esdproject.facultyupdate.event;
+
+import lombok.Value;
+
+/**
+ * Published by FacultyService for every registration, update and deletion, and by
+ * TermRolloverService as an UPDATED for each faculty member whose courses a rollover releases.
+ * Listeners should use @TransactionalEventListener so they only see committed changes.
+ */
+@Value
+public class FacultyChangedEvent {
+
+    public enum ChangeType { REGISTERED, UPDATED, DELETED }
+
+    ChangeType type;
+    FacultySnapshot before;  // null for REGISTERED
+    FacultySnapshot after;   // null for DELETED
+    String changedBy;
+
+    public Integer getFacultyId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
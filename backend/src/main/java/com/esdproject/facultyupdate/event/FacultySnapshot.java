@@ -0,0 +1,53 @@
+package com.esdproject.facultyupdate.event;
+
+import com.esdproject.facultyupdate.entity.Employee;
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable copy of a faculty member's state, taken inside the transaction so it can
+ * be used after commit without touching the persistence context.
+ */
+@Value
+public class FacultySnapshot {
+    Integer id;
+    String employeeId;
+    String firstName;
+    String lastName;
+    String email;
+    String title;
+    String photographPath;
+    Integer departmentId;
+    Set<Integer> courseIds;
+
+    public static FacultySnapshot of(Employee employee) {
+        Set<Integer> courseIds = employee.getCourses().stream()
+                .map(fc -> fc.getCourse().getCourseId())
+                .collect(Collectors.toCollection(TreeSet::new));
+        return new FacultySnapshot(
+                employee.getId(),
+                employee.getEmployeeId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getTitle(),
+                employee.getPhotographPath(),
+                employee.getDepartment() != null ? employee.getDepartment().getDepartmentId() : null,
+                Collections.unmodifiableSet(courseIds));
+    }
+
+    /**
+     * The same state with the given courses no longer assigned
+     */
+    public FacultySnapshot withoutCourses(Collection<Integer> released) {
+        Set<Integer> remaining = new TreeSet<>(courseIds);
+        remaining.removeAll(released);
+        return new FacultySnapshot(id, employeeId, firstName, lastName, email, title, photographPath,
+                departmentId, Collections.unmodifiableSet(remaining));
+    }
+}
@@ -0,0 +1,14 @@
+package com.esdproject.facultyupdate.event;
+
+import lombok.Value;
+
+/**
+ * A FacultyChangedEvent committed by another instance, published by ChangeFeedRelay once
+ * it reaches the change feed here. In-memory views kept current from FacultyChangedEvent
+ * listen for it as well, so every instance applies every change. It is published after
+ * the change has committed and outside any transaction, so listeners use @EventListener.
+ */
+@Value
+public class RemoteFacultyChangedEvent {
+    FacultyChangedEvent change;
+}
@@ -0,0 +1,10 @@
+package com.esdproject.facultyupdate.exception;
+
+/**
+ * A department has no free places left (409, like any other conflict)
+ */
+public class CapacityExceededException extends ConflictException {
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
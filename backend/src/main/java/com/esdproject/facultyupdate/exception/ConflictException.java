@@ -0,0 +1,11 @@
+package com.esdproject.facultyupdate.exception;
+
+/**
+ * The request conflicts with the current state of the resource (409), e.g. an upload
+ * chunk sent for the wrong offset. Expected-path, so no stack trace.
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
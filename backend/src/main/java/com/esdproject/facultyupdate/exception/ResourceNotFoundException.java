@@ -1,8 +1,11 @@
 package com.esdproject.facultyupdate.exception;
 
+/**
+ * Expected-path exception (turned into a 404 by GlobalExceptionHandler), so the
+ * stack trace is not captured.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
-
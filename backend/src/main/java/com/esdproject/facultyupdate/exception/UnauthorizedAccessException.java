@@ -1,7 +1,11 @@
 package com.esdproject.facultyupdate.exception;
 
+/**
+ * Expected-path exception (turned into a 403 by GlobalExceptionHandler), so the
+ * stack trace is not captured.
+ */
 public class UnauthorizedAccessException extends RuntimeException {
     public UnauthorizedAccessException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
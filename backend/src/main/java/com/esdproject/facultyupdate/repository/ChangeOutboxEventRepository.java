@@ -0,0 +1,33 @@
+package com.esdproject.facultyupdate.repository;
+
+import com.esdproject.facultyupdate.entity.ChangeOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ChangeOutboxEventRepository extends JpaRepository<ChangeOutboxEvent, Long> {
+
+    // Read-write transactions so the change feed relay reads the primary, never a lagging replica
+    @Transactional
+    List<ChangeOutboxEvent> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Transactional
+    List<ChangeOutboxEvent> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long after, Long upTo, Limit limit);
+
+    @Transactional
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM ChangeOutboxEvent e WHERE e.createdAt < :cutoff")
+    Long findMaxIdCreatedBefore(@Param("cutoff") Instant cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChangeOutboxEvent e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
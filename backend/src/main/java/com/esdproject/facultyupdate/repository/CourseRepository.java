@@ -1,13 +1,34 @@
 package com.esdproject.facultyupdate.repository;
 
 import com.esdproject.facultyupdate.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Integer> {
+
+    String QUERY_CACHE_REGION = "course-queries";
+
     List<Course> findByCourseCodeIn(List<String> courseCodes);
-}
 
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    List<Course> findAll();
+
+    // Cached variant of findAllById: the query cache keeps the matching IDs and
+    // the entities themselves come from the "courses" entity region
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    List<Course> findByCourseIdIn(Collection<Integer> courseIds);
+}
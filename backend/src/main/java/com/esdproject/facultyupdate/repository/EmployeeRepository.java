@@ -2,13 +2,45 @@ package com.esdproject.facultyupdate.repository;
 
 import com.esdproject.facultyupdate.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
     Optional<Employee> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Not read-only, so it is routed to the primary; call it outside any read-only transaction,
+    // which it would otherwise join (see UnknownEmailCache.confirmUnknown)
+    @Transactional
+    @Query("SELECT CASE WHEN COUNT(e) > 0 THEN true ELSE false END FROM Employee e WHERE e.email = :email")
+    boolean existsByEmailOnPrimary(@Param("email") String email);
+
+    // Which of the paths are referenced. Never inside a transaction, so it always reads the
+    // primary (a just-committed photo may not have reached the replicas) instead of joining
+    // a read-only caller's transaction on a replica
+    @Transactional(propagation = Propagation.NEVER)
+    @Query("SELECT e.photographPath FROM Employee e WHERE e.photographPath IN :paths")
+    List<String> findReferencedPhotographPaths(@Param("paths") Collection<String> paths);
+
+    // Everything the faculty directory index needs, in one query
+    @Query("SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.department "
+            + "LEFT JOIN FETCH e.courses fc LEFT JOIN FETCH fc.course")
+    List<Employee> findAllForDirectory();
+
+    @Query("SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.department "
+            + "LEFT JOIN FETCH e.courses fc LEFT JOIN FETCH fc.course WHERE e.id IN :ids")
+    List<Employee> findAllWithDetailsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.department "
+            + "LEFT JOIN FETCH e.courses fc LEFT JOIN FETCH fc.course WHERE e.employeeId IN :employeeIds")
+    List<Employee> findAllWithDetailsByEmployeeIdIn(@Param("employeeIds") Collection<String> employeeIds);
 }
 
@@ -2,14 +2,36 @@ package com.esdproject.facultyupdate.repository;
 
 import com.esdproject.facultyupdate.entity.FacultyCourse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FacultyCourseRepository extends JpaRepository<FacultyCourse, Integer> {
     List<FacultyCourse> findByFaculty_Id(Integer id);
     void deleteByFaculty_Id(Integer id);
-    boolean existsByCourse_CourseIdAndFaculty_IdNot(Integer courseId, Integer facultyId);
-}
 
+    @Query("SELECT fc.course.courseId AS courseId, fc.faculty.id AS facultyId FROM FacultyCourse fc")
+    List<CourseOwnership> findAllOwnerships();
+
+    @Query("SELECT fc.faculty.id FROM FacultyCourse fc WHERE fc.course.courseId = :courseId")
+    Optional<Integer> findOwnerIdByCourseId(@Param("courseId") Integer courseId);
+
+    @Query("SELECT e.id AS facultyId, d.departmentId AS departmentId, fc.course.courseId AS courseId "
+            + "FROM FacultyCourse fc JOIN fc.faculty e LEFT JOIN e.department d")
+    List<CourseAssignment> findAllAssignments();
+
+    interface CourseOwnership {
+        Integer getCourseId();
+        Integer getFacultyId();
+    }
+
+    interface CourseAssignment {
+        Integer getFacultyId();
+        Integer getDepartmentId();
+        Integer getCourseId();
+    }
+}
@@ -0,0 +1,12 @@
+package com.esdproject.facultyupdate.repository;
+
+import com.esdproject.facultyupdate.entity.ProfileAuditEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProfileAuditEntryRepository extends JpaRepository<ProfileAuditEntry, Long> {
+    List<ProfileAuditEntry> findTop200ByEmployeeOrderByIdDesc(Integer employee);
+}
@@ -0,0 +1,27 @@
+package com.esdproject.facultyupdate.repository;
+
+import com.esdproject.facultyupdate.entity.TermRolloverJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Progress is read from the primary: the replicas may lag behind the running job.
+ */
+@Repository
+public interface TermRolloverJobRepository extends JpaRepository<TermRolloverJob, Long> {
+
+    @Override
+    @Transactional
+    Optional<TermRolloverJob> findById(Long id);
+
+    @Transactional
+    List<TermRolloverJob> findByStatusInOrderByIdAsc(Collection<TermRolloverJob.Status> statuses);
+
+    @Transactional
+    List<TermRolloverJob> findTop20ByOrderByIdDesc();
+}
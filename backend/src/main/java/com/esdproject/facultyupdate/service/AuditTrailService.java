@@ -0,0 +1,228 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.dto.ProfileHistoryEntry;
+import com.esdproject.facultyupdate.entity.ProfileAuditEntry;
+import com.esdproject.facultyupdate.event.FacultyChangedEvent;
+import com.esdproject.facultyupdate.event.FacultySnapshot;
+import com.esdproject.facultyupdate.repository.ProfileAuditEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Append-only, field-level history of faculty profile changes.
+ *
+ * Diffs are computed after commit and put on a bounded in-memory queue; a single
+ * background writer inserts them in JDBC batches. The profile-save path never waits
+ * on an audit write, and when the queue is full entries are dropped (and counted in
+ * audit.entries.dropped) rather than growing memory without limit.
+ */
+@Slf4j
+@Service
+public class AuditTrailService {
+
+    private static final String INSERT_SQL = "INSERT INTO profile_audit_log "
+            + "(employee, entity_type, field_name, old_value, new_value, changed_by, changed_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_VALUE_LENGTH = 255;
+
+    private static final Map<String, Function<FacultySnapshot, Object>> EMPLOYEE_FIELDS = new LinkedHashMap<>();
+
+    static {
+        EMPLOYEE_FIELDS.put("employee_id", FacultySnapshot::getEmployeeId);
+        EMPLOYEE_FIELDS.put("first_name", FacultySnapshot::getFirstName);
+        EMPLOYEE_FIELDS.put("last_name", FacultySnapshot::getLastName);
+        EMPLOYEE_FIELDS.put("email", FacultySnapshot::getEmail);
+        EMPLOYEE_FIELDS.put("title", FacultySnapshot::getTitle);
+        EMPLOYEE_FIELDS.put("photograph_path", FacultySnapshot::getPhotographPath);
+        EMPLOYEE_FIELDS.put("department", FacultySnapshot::getDepartmentId);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProfileAuditEntryRepository profileAuditEntryRepository;
+    private final BlockingQueue<ProfileAuditEntry> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Counter droppedEntries;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "audit-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running = true;
+
+    public AuditTrailService(JdbcTemplate jdbcTemplate,
+                             ProfileAuditEntryRepository profileAuditEntryRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                             @Value("${app.audit.batch-size:200}") int batchSize,
+                             @Value("${app.audit.flush-interval-ms:500}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.profileAuditEntryRepository = profileAuditEntryRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.droppedEntries = Counter.builder("audit.entries.dropped")
+                .description("Audit entries discarded because the write queue was full")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.submit(this::writeLoop);
+    }
+
+    /**
+     * Writes whatever is still queued before the DataSource goes away.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Audit writer did not finish; {} entries not written", queue.size());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onFacultyChanged(FacultyChangedEvent event) {
+        Instant now = Instant.now();
+        diff(event, now).forEach(this::enqueue);
+    }
+
+    /**
+     * @return most recent changes of one employee, newest first
+     */
+    public List<ProfileHistoryEntry> getHistory(Integer employeeId) {
+        return profileAuditEntryRepository.findTop200ByEmployeeOrderByIdDesc(employeeId).stream()
+                .map(ProfileHistoryEntry::from)
+                .toList();
+    }
+
+    private List<ProfileAuditEntry> diff(FacultyChangedEvent event, Instant changedAt) {
+        FacultySnapshot before = event.getBefore();
+        FacultySnapshot after = event.getAfter();
+        Integer employee = event.getFacultyId();
+        List<ProfileAuditEntry> entries = new ArrayList<>();
+
+        EMPLOYEE_FIELDS.forEach((field, getter) -> {
+            Object oldValue = before != null ? getter.apply(before) : null;
+            Object newValue = after != null ? getter.apply(after) : null;
+            if (!Objects.equals(oldValue, newValue)) {
+                entries.add(entry(employee, ProfileAuditEntry.EMPLOYEE, field, oldValue, newValue, event.getChangedBy(), changedAt));
+            }
+        });
+
+        Set<Integer> oldCourses = before != null ? before.getCourseIds() : Set.of();
+        Set<Integer> newCourses = after != null ? after.getCourseIds() : Set.of();
+        oldCourses.stream()
+                .filter(courseId -> !newCourses.contains(courseId))
+                .forEach(courseId -> entries.add(entry(employee, ProfileAuditEntry.FACULTY_COURSE, "course_id",
+                        courseId, null, event.getChangedBy(), changedAt)));
+        newCourses.stream()
+                .filter(courseId -> !oldCourses.contains(courseId))
+                .forEach(courseId -> entries.add(entry(employee, ProfileAuditEntry.FACULTY_COURSE, "course_id",
+                        null, courseId, event.getChangedBy(), changedAt)));
+        return entries;
+    }
+
+    private ProfileAuditEntry entry(Integer employee, String entityType, String field,
+                                    Object oldValue, Object newValue, String changedBy, Instant changedAt) {
+        return new ProfileAuditEntry(null, employee, entityType, field,
+                truncate(oldValue), truncate(newValue), changedBy, changedAt);
+    }
+
+    private String truncate(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString();
+        return text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) : text;
+    }
+
+    private void enqueue(ProfileAuditEntry entry) {
+        if (!queue.offer(entry)) {
+            droppedEntries.increment();
+            // Log the first drop of every thousand instead of flooding the log during a burst
+            if (((long) droppedEntries.count()) % 1000 == 1) {
+                log.warn("Audit queue full, dropping entries ({} dropped so far)", (long) droppedEntries.count());
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<ProfileAuditEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ProfileAuditEntry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Collect until the batch is full or the flush interval has passed
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    ProfileAuditEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ProfileAuditEntry> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setInt(1, entry.getEmployee());
+                ps.setString(2, entry.getEntityType());
+                ps.setString(3, entry.getFieldName());
+                ps.setString(4, entry.getOldValue());
+                ps.setString(5, entry.getNewValue());
+                ps.setString(6, entry.getChangedBy());
+                ps.setTimestamp(7, Timestamp.from(entry.getChangedAt()));
+            });
+        } catch (DataAccessException e) {
+            log.error("Failed to write {} audit entries", batch.size(), e);
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.esdproject.facultyupdate.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 @Service
 public class AuthenticationService {
 
+    @Value("${app.security.admin-emails:}")
+    private Set<String> adminEmails;
+
     /**
      * Get the email of the currently authenticated user from OAuth2
      * @return Email of the authenticated user
@@ -36,6 +42,33 @@ public class AuthenticationService {
         throw new IllegalStateException("Principal is not an OAuth2User");
     }
     
+    /**
+     * Name to attribute a change to: the user's email, or "system" outside a user request
+     * @return Email of the authenticated user or "system"
+     */
+    public String getCurrentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return "system";
+        }
+        if (authentication.getPrincipal() instanceof OAuth2User oauth2User && oauth2User.getAttribute("email") != null) {
+            return oauth2User.getAttribute("email");
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Employee ID resolved when the user logged in through the local OIDC user service
+     * @return ID of the user's employee record, or null if unknown at login or not an OIDC login
+     */
+    public Integer getCurrentFacultyId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof FacultyOidcUser oidcUser) {
+            return oidcUser.getFacultyId();
+        }
+        return null;
+    }
+
     /**
      * Check if a user is currently authenticated
      * @return true if authenticated, false otherwise
@@ -44,4 +77,16 @@ public class AuthenticationService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         return authentication != null && authentication.isAuthenticated();
     }
+
+    /**
+     * Check if the current user is listed in app.security.admin-emails
+     * @return true if the current user is an administrator
+     */
+    public boolean isCurrentUserAdmin() {
+        if (!isAuthenticated()) {
+            return false;
+        }
+        String actor = getCurrentActor();
+        return adminEmails.stream().anyMatch(admin -> admin.trim().equalsIgnoreCase(actor));
+    }
 }
@@ -0,0 +1,119 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.dto.BootstrapResponse;
+import com.esdproject.facultyupdate.dto.FacultyResponse;
+import com.esdproject.facultyupdate.entity.Course;
+import com.esdproject.facultyupdate.entity.Department;
+import com.esdproject.facultyupdate.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Assembles the profile screen's initial data. The profile goes through SingleFlight,
+ * so it shares loads with GET /me; departments and courses come straight from the
+ * in-memory reference data snapshot. Everything is loaded on the request thread: the
+ * sections are cache hits, and a pool in front of them would only queue requests.
+ *
+ * Each section carries an ETag. Sections whose ETag the client already holds are
+ * returned as notModified without data. Reference data ETags are a content hash worked
+ * out once per snapshot version; the profile ETag is a hash of its fields.
+ */
+@Service
+public class BootstrapService {
+
+    private final FacultyService facultyService;
+    private final DepartmentService departmentService;
+    private final CourseService courseService;
+    private final AuthenticationService authenticationService;
+    private final SingleFlight singleFlight;
+    private final ObjectMapper objectMapper;
+    // The snapshot hands out the same list instance until it changes
+    private final AtomicReference<Tagged> departmentsTag = new AtomicReference<>(new Tagged(null, null));
+    private final AtomicReference<Tagged> coursesTag = new AtomicReference<>(new Tagged(null, null));
+
+    private record Tagged(Object data, String etag) {
+    }
+
+    public BootstrapService(FacultyService facultyService,
+                            DepartmentService departmentService,
+                            CourseService courseService,
+                            AuthenticationService authenticationService,
+                            SingleFlight singleFlight,
+                            ObjectMapper objectMapper) {
+        this.facultyService = facultyService;
+        this.departmentService = departmentService;
+        this.courseService = courseService;
+        this.authenticationService = authenticationService;
+        this.singleFlight = singleFlight;
+        this.objectMapper = objectMapper;
+    }
+
+    public BootstrapResponse load(Set<String> knownEtags) {
+        BootstrapResponse response = new BootstrapResponse();
+        response.setUser(currentUserInfo());
+
+        String profileKey = FacultyService.profileFlightKey(authenticationService.getCurrentUserEmail());
+        try {
+            FacultyResponse profile = singleFlight.execute(profileKey, facultyService::getCurrentFacultyProfile);
+            // @Data hashCode covers every field (and the nested department and courses)
+            String etag = "profile-" + profile.getId() + "-" + Integer.toHexString(profile.hashCode());
+            response.setProfile(section(etag, profile, knownEtags));
+        } catch (ResourceNotFoundException notFound) {
+            response.setProfile(BootstrapResponse.Section.failed(notFound.getMessage()));
+        }
+
+        List<Department> departments = departmentService.getAllDepartments();
+        response.setDepartments(section(etag("departments", departments, departmentsTag), departments, knownEtags));
+        List<Course> courses = courseService.getAllCourses();
+        response.setCourses(section(etag("courses", courses, coursesTag), courses, knownEtags));
+        return response;
+    }
+
+    private <T> BootstrapResponse.Section<T> section(String etag, T data, Set<String> knownEtags) {
+        return knownEtags.contains(etag)
+                ? BootstrapResponse.Section.unchanged(etag)
+                : BootstrapResponse.Section.of(etag, data);
+    }
+
+    private String etag(String name, Object data, AtomicReference<Tagged> memo) {
+        Tagged tagged = memo.get();
+        if (tagged.data() != data) {
+            tagged = new Tagged(data, name + "-" + contentHash(data));
+            memo.set(tagged);
+        }
+        return tagged.etag();
+    }
+
+    private String contentHash(Object data) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(data));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Same fields as GET /api/auth/user
+    private Map<String, Object> currentUserInfo() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof OAuth2User principal)) {
+            return null;
+        }
+        Map<String, Object> userInfo = new HashMap<>();
+        userInfo.put("name", principal.getAttribute("name"));
+        userInfo.put("email", principal.getAttribute("email"));
+        userInfo.put("picture", principal.getAttribute("picture"));
+        return userInfo;
+    }
+}
@@ -0,0 +1,102 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.dto.CourseOccupancy;
+import com.esdproject.facultyupdate.dto.DepartmentOccupancy;
+import com.esdproject.facultyupdate.entity.Department;
+import com.esdproject.facultyupdate.exception.CapacityExceededException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Faculty headcount per department, enforced against Department.capacity.
+ *
+ * The count lives in departments.headcount and only moves when FacultyService writes.
+ * A place is taken with a conditional UPDATE (headcount below capacity) in the same
+ * transaction as the employee row, so the check is a current read that locks the
+ * department row until commit: it holds across nodes, and a rollback hands the place
+ * back. Capacity checks and the occupancy API never count rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class CapacityTracker {
+
+    private static final String TAKE_PLACE = "UPDATE departments SET headcount = headcount + 1 "
+            + "WHERE department_id = ? AND (capacity IS NULL OR headcount < capacity)";
+    private static final String FREE_PLACE = "UPDATE departments SET headcount = headcount - 1 "
+            + "WHERE department_id = ? AND headcount > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DepartmentService departmentService;
+    private final CourseService courseService;
+    private final CourseOwnershipRegistry courseOwnershipRegistry;
+
+    /**
+     * Moves one faculty member from fromDepartmentId (null for a new registration) into
+     * to, as part of the current transaction. Nothing happens if the department is unchanged.
+     * @throws CapacityExceededException if to is already full
+     */
+    public void transfer(Integer fromDepartmentId, Department to) {
+        Integer toDepartmentId = to == null ? null : to.getDepartmentId();
+        if (Objects.equals(fromDepartmentId, toDepartmentId)) {
+            return;
+        }
+        // Department rows are locked in id order so opposite moves cannot deadlock
+        if (fromDepartmentId != null && (toDepartmentId == null || fromDepartmentId < toDepartmentId)) {
+            free(fromDepartmentId);
+            take(to);
+        } else {
+            take(to);
+            free(fromDepartmentId);
+        }
+    }
+
+    /**
+     * Gives up a faculty member's place as part of the current transaction
+     */
+    public void release(Integer departmentId) {
+        transfer(departmentId, null);
+    }
+
+    public List<DepartmentOccupancy> getDepartmentOccupancy() {
+        Map<Integer, Integer> headcounts = new HashMap<>();
+        jdbcTemplate.query("SELECT department_id, headcount FROM departments",
+                rs -> { headcounts.put(rs.getInt(1), rs.getInt(2)); });
+        return departmentService.getAllDepartments().stream()
+                .map(department -> {
+                    int occupied = headcounts.getOrDefault(department.getDepartmentId(), 0);
+                    Integer capacity = department.getCapacity();
+                    return new DepartmentOccupancy(department.getDepartmentId(), department.getName(), capacity,
+                            occupied, capacity == null ? null : Math.max(0, capacity - occupied));
+                })
+                .toList();
+    }
+
+    public List<CourseOccupancy> getCourseOccupancy() {
+        return courseService.getAllCourses().stream()
+                .map(course -> new CourseOccupancy(course.getCourseId(), course.getCourseCode(), course.getCapacity(),
+                        courseOwnershipRegistry.ownerOf(course.getCourseId()) != null))
+                .toList();
+    }
+
+    private void take(Department department) {
+        if (department == null) {
+            return;
+        }
+        if (jdbcTemplate.update(TAKE_PLACE, department.getDepartmentId()) == 0) {
+            throw new CapacityExceededException("Department '" + department.getName() + "' is full ("
+                    + department.getCapacity() + " faculty members).");
+        }
+    }
+
+    private void free(Integer departmentId) {
+        if (departmentId != null) {
+            jdbcTemplate.update(FREE_PLACE, departmentId);
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.dto.ChangeFeedEvent;
+import com.esdproject.facultyupdate.dto.ChangeFeedPage;
+import com.esdproject.facultyupdate.entity.ChangeOutboxEvent;
+import com.esdproject.facultyupdate.event.FacultyChangedEvent;
+import com.esdproject.facultyupdate.event.FacultySnapshot;
+import com.esdproject.facultyupdate.event.RemoteFacultyChangedEvent;
+import com.esdproject.facultyupdate.repository.ChangeOutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes committed change_outbox rows to SSE subscribers and long-poll waiters.
+ *
+ * A single relay thread polls the primary for rows above the published watermark. Outbox
+ * ids are allocated at insert but become visible at commit, so a missing id may still be
+ * in flight: the relay stops at a gap and only skips it once it has been open for the
+ * grace period (a rolled-back insert never fills it). The grace period must be longer
+ * than the transaction timeout (TransactionConfig), so an id is only skipped once the
+ * transaction that allocated it can no longer commit; skipped ids are counted in
+ * change.feed.gaps.skipped. Consumers are never handed a sequence above the watermark,
+ * so resuming from the last sequence they saw cannot skip an event.
+ *
+ * Events written by other instances are also applied here: the relay thread publishes
+ * each one as a RemoteFacultyChangedEvent, in sequence order, so in-memory views on
+ * every instance see every committed change.
+ *
+ * Sending happens on a small delivery pool, at most one task per SSE subscriber, so a
+ * slow socket or a subscriber far behind (caught up from the table in pages) only holds
+ * up itself. Long-poll waiters behind the current batch are read there as well. The
+ * relay thread itself only reads new rows and hands out the batch; purging runs on its
+ * own thread.
+ */
+@Slf4j
+@Service
+public class ChangeFeedRelay {
+
+    public static final int PAGE_SIZE = 500;
+
+    private final ChangeOutboxEventRepository changeOutboxEventRepository;
+    private final ChangeOutboxService changeOutboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final long pollIntervalMillis;
+    private final Duration gapGrace;
+    private final long gapGraceNanos;
+    private final Counter skippedIds;
+    private final Duration retention;
+    private final long sseTimeoutMillis;
+    private final long heartbeatNanos;
+    private final ExecutorService delivery;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final List<Waiter> waiters = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Highest sequence handed out to consumers
+    private volatile long watermark;
+    // The batch that moved the watermark from previous to upTo; delivery tasks read it
+    private volatile Batch lastBatch = new Batch(0, List.of(), 0);
+    // Relay thread only
+    private long gapSeenAt = -1;
+    private long lastHeartbeat = System.nanoTime();
+
+    public ChangeFeedRelay(ChangeOutboxEventRepository changeOutboxEventRepository,
+                           ChangeOutboxService changeOutboxService,
+                           ApplicationEventPublisher eventPublisher,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.change-feed.poll-interval-ms:250}") long pollIntervalMillis,
+                           @Value("${app.change-feed.gap-grace:60s}") Duration gapGrace,
+                           @Value("${spring.transaction.default-timeout:30s}") Duration transactionTimeout,
+                           @Value("${app.change-feed.retention:7d}") Duration retention,
+                           @Value("${app.change-feed.sse-timeout:30m}") Duration sseTimeout,
+                           @Value("${app.change-feed.heartbeat:15s}") Duration heartbeat,
+                           @Value("${app.change-feed.delivery-threads:4}") int deliveryThreads) {
+        if (gapGrace.compareTo(transactionTimeout) <= 0) {
+            throw new IllegalStateException("app.change-feed.gap-grace (" + gapGrace + ") must be longer than "
+                    + "spring.transaction.default-timeout (" + transactionTimeout + "), or events of slow transactions are lost");
+        }
+        this.changeOutboxEventRepository = changeOutboxEventRepository;
+        this.changeOutboxService = changeOutboxService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.gapGrace = gapGrace;
+        this.gapGraceNanos = gapGrace.toNanos();
+        this.skippedIds = Counter.builder("change.feed.gaps.skipped")
+                .description("Outbox ids given up on after the gap grace period")
+                .register(meterRegistry);
+        this.retention = retention;
+        this.sseTimeoutMillis = sseTimeout.toMillis();
+        this.heartbeatNanos = heartbeat.toNanos();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Unbounded queue, but each subscriber and waiter has at most one task in it
+        this.delivery = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-delivery-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        // Rows older than the grace period are settled; anything newer is relayed by the first poll
+        watermark = changeOutboxEventRepository.findMaxIdCreatedBefore(
+                Instant.now().minusNanos(gapGraceNanos));
+        lastBatch = new Batch(watermark, List.of(), watermark);
+        relay.scheduleWithFixedDelay(this::relayQuietly, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        purger.scheduleWithFixedDelay(this::purgeQuietly, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        relay.shutdownNow();
+        purger.shutdownNow();
+        delivery.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Opens an SSE stream starting after the given sequence (or at the current position
+     * when null). Catch-up and live events are sent by the delivery pool.
+     */
+    public SseEmitter subscribe(Long after) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, after != null ? after : watermark);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Completes with the events after the given sequence as soon as there are any,
+     * or with an empty page once the timeout expires.
+     */
+    public CompletableFuture<ChangeFeedPage> poll(long after, int limit, Duration timeout) {
+        Waiter waiter = new Waiter(after, limit, new CompletableFuture<>(), new AtomicBoolean());
+        waiters.add(waiter);
+        waiter.result.whenComplete((page, e) -> waiters.remove(waiter));
+        // Re-check after registering so an advance in between is not missed
+        if (watermark > after) {
+            long upTo = watermark;
+            waiter.result.complete(readPage(after, limit, upTo, List.of(), upTo));
+        }
+        return waiter.result.completeOnTimeout(new ChangeFeedPage(List.of(), after), timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void relayQuietly() {
+        try {
+            relayOnce();
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel the schedule
+            log.error("Change feed relay failed", e);
+        }
+    }
+
+    private void relayOnce() {
+        long previous = watermark;
+        List<ChangeFeedEvent> batch = changeOutboxEventRepository
+                .findByIdGreaterThanOrderByIdAsc(previous, Limit.of(PAGE_SIZE)).stream()
+                .map(ChangeFeedEvent::from)
+                .toList();
+
+        int ready = 0;
+        long next = previous;
+        for (ChangeFeedEvent event : batch) {
+            if (event.getSequence() != next + 1) {
+                if (!gapExpired()) {
+                    break;
+                }
+                skippedIds.increment(event.getSequence() - next - 1);
+                log.warn("Change feed skipped ids {}-{}, not committed within {}", next + 1, event.getSequence() - 1, gapGrace);
+            }
+            gapSeenAt = -1;
+            next = event.getSequence();
+            ready++;
+        }
+
+        List<ChangeFeedEvent> published = batch.subList(0, ready);
+        if (ready > 0) {
+            lastBatch = new Batch(previous, List.copyOf(published), next);
+            watermark = next;
+            published.forEach(this::applyRemote);
+        }
+
+        boolean heartbeat = System.nanoTime() - lastHeartbeat >= heartbeatNanos;
+        if (heartbeat) {
+            lastHeartbeat = System.nanoTime();
+        }
+        // Also catches up subscribers and waiters that joined behind the watermark
+        for (Subscriber subscriber : subscribers) {
+            if (heartbeat) {
+                subscriber.heartbeatDue = true;
+            }
+            if (heartbeat || subscriber.lastSent < next) {
+                schedule(subscriber);
+            }
+        }
+        for (Waiter waiter : waiters) {
+            if (waiter.after() >= next) {
+                continue;
+            }
+            if (waiter.after() >= previous) {
+                // Served from the batch in memory
+                waiter.result().complete(readPage(waiter.after(), waiter.limit(), lastBatch));
+            } else if (waiter.claimed().compareAndSet(false, true)) {
+                Batch current = lastBatch;
+                delivery.execute(() -> waiter.result().complete(readPage(waiter.after(), waiter.limit(), current)));
+            }
+        }
+    }
+
+    /**
+     * Starts a delivery task for the subscriber unless one is already running; the
+     * task keeps going until the subscriber has everything up to the watermark.
+     */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                delivery.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            deliver(subscriber);
+        } catch (RuntimeException e) {
+            log.warn("Change feed delivery failed", e);
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // The relay may have advanced after the last check in deliver
+        if (subscribers.contains(subscriber) && subscriber.lastSent < watermark) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Hands a faculty change committed by another instance to this instance's listeners
+     */
+    private void applyRemote(ChangeFeedEvent event) {
+        if (!ChangeOutboxEvent.FACULTY.equals(event.getAggregateType())
+                || changeOutboxService.getOrigin().equals(event.getOrigin())) {
+            return;
+        }
+        try {
+            FacultyPayload payload = objectMapper.readValue(event.getPayload(), FacultyPayload.class);
+            eventPublisher.publishEvent(new RemoteFacultyChangedEvent(new FacultyChangedEvent(
+                    FacultyChangedEvent.ChangeType.valueOf(event.getType()),
+                    payload.before(), payload.after(), payload.changedBy())));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // One bad event must not hold up the feed; the periodic checks correct the views
+            log.error("Could not apply change feed event {} from another instance", event.getSequence(), e);
+        }
+    }
+
+    private boolean gapExpired() {
+        if (gapSeenAt < 0) {
+            gapSeenAt = System.nanoTime();
+            return false;
+        }
+        return System.nanoTime() - gapSeenAt >= gapGraceNanos;
+    }
+
+    private void deliver(Subscriber subscriber) {
+        if (subscriber.heartbeatDue) {
+            subscriber.heartbeatDue = false;
+            if (!send(subscriber, SseEmitter.event().comment("keepalive"))) {
+                return;
+            }
+        }
+        while (subscriber.lastSent < watermark) {
+            ChangeFeedPage page = readPage(subscriber.lastSent, PAGE_SIZE, lastBatch);
+            for (ChangeFeedEvent event : page.getEvents()) {
+                boolean sent = send(subscriber, SseEmitter.event()
+                        .id(String.valueOf(event.getSequence()))
+                        .name(event.getType())
+                        .data(event, MediaType.APPLICATION_JSON));
+                if (!sent) {
+                    return;
+                }
+            }
+            subscriber.lastSent = page.getNextAfter();
+        }
+    }
+
+    /**
+     * Events in (after, batch.upTo], taken from the batch when the reader is caught up
+     * and from the table otherwise.
+     */
+    private ChangeFeedPage readPage(long after, int limit, Batch batch) {
+        return readPage(after, limit, batch.previous(), batch.events(), batch.upTo());
+    }
+
+    /**
+     * Events in (after, upTo], taken from the batch just published when the reader is
+     * caught up and from the table otherwise.
+     */
+    private ChangeFeedPage readPage(long after, int limit, long previous, List<ChangeFeedEvent> published, long upTo) {
+        List<ChangeFeedEvent> events;
+        if (after >= previous) {
+            events = published.stream()
+                    .filter(event -> event.getSequence() > after)
+                    .limit(limit)
+                    .toList();
+        } else {
+            events = changeOutboxEventRepository
+                    .findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(after, upTo, Limit.of(limit)).stream()
+                    .map(ChangeFeedEvent::from)
+                    .toList();
+        }
+        // An empty read means the rest of the range was purged or skipped
+        long nextAfter = events.isEmpty() ? Math.max(after, upTo) : events.get(events.size() - 1).getSequence();
+        return new ChangeFeedPage(events, nextAfter);
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter callbacks remove it
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            int purged = changeOutboxEventRepository.deleteCreatedBefore(Instant.now().minus(retention));
+            if (purged > 0) {
+                log.info("Purged {} change feed events older than {}", purged, retention);
+            }
+        } catch (RuntimeException e) {
+            log.error("Change feed purge failed", e);
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        // Written by its delivery task only
+        volatile long lastSent;
+        volatile boolean heartbeatDue;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, long lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+    }
+
+    // claimed: a table read for it has been handed to the delivery pool
+    private record Waiter(long after, int limit, CompletableFuture<ChangeFeedPage> result, AtomicBoolean claimed) {
+    }
+
+    private record Batch(long previous, List<ChangeFeedEvent> events, long upTo) {
+    }
+
+    // Payload written by ChangeOutboxService
+    private record FacultyPayload(FacultySnapshot before, FacultySnapshot after, String changedBy) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.entity.ChangeOutboxEvent;
+import com.esdproject.facultyupdate.event.FacultyChangedEvent;
+import com.esdproject.facultyupdate.repository.ChangeOutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes every faculty change into change_outbox as part of the transaction that made it,
+ * so the change feed contains exactly the committed changes. ChangeFeedRelay publishes them.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeOutboxService {
+
+    private final ChangeOutboxEventRepository changeOutboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final String origin = UUID.randomUUID().toString();
+
+    /**
+     * @return ID of this instance, stored with every event it writes
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    // Plain @EventListener: runs synchronously in the publisher's transaction
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onFacultyChanged(FacultyChangedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("before", event.getBefore());
+        payload.put("after", event.getAfter());
+        payload.put("changedBy", event.getChangedBy());
+
+        ChangeOutboxEvent outboxEvent = new ChangeOutboxEvent();
+        outboxEvent.setAggregateType(ChangeOutboxEvent.FACULTY);
+        outboxEvent.setAggregateId(event.getFacultyId());
+        outboxEvent.setEventType(event.getType().name());
+        outboxEvent.setPayload(toJson(payload));
+        outboxEvent.setCreatedAt(Instant.now());
+        outboxEvent.setOrigin(origin);
+        changeOutboxEventRepository.save(outboxEvent);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize change event", e);
+        }
+    }
+}
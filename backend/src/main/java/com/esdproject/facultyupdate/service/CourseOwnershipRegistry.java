@@ -0,0 +1,133 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.event.FacultyChangedEvent;
+import com.esdproject.facultyupdate.event.RemoteFacultyChangedEvent;
+import com.esdproject.facultyupdate.repository.FacultyCourseRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Course -> owning faculty map, rebuilt from faculty_courses at startup.
+ *
+ * The map is a fast-path hint, not the source of truth: assignments changed on another
+ * node are only reflected here once the change feed brings them to this node. Claims are reserved
+ * with putIfAbsent (CAS per course), so free courses never hit the database; a course
+ * the map says belongs to someone else is confirmed against faculty_courses before it
+ * is reported as a conflict. The unique constraint on faculty_courses.course_id decides
+ * races between nodes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseOwnershipRegistry {
+
+    private final FacultyCourseRepository facultyCourseRepository;
+
+    private final ConcurrentHashMap<Integer, Integer> owners = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        owners.clear();
+        facultyCourseRepository.findAllOwnerships()
+                .forEach(ownership -> owners.put(ownership.getCourseId(), ownership.getFacultyId()));
+        log.info("Course ownership registry loaded with {} assignments", owners.size());
+    }
+
+    /**
+     * @return ID of the faculty member owning the course, or null if it is free
+     */
+    public Integer ownerOf(Integer courseId) {
+        return owners.get(courseId);
+    }
+
+    /**
+     * Reserves courseIds for facultyId and gives up releasedCourseIds, tied to the current
+     * transaction: new reservations are undone if it rolls back, and released courses only
+     * become free once it has committed. All-or-nothing - if any course belongs to someone
+     * else nothing is reserved.
+     *
+     * @return IDs of the requested courses owned by another faculty member (empty on success)
+     */
+    public List<Integer> claim(Integer facultyId, Collection<Integer> courseIds, Collection<Integer> releasedCourseIds) {
+        List<Integer> reserved = new ArrayList<>();
+        List<Integer> conflicts = new ArrayList<>();
+
+        for (Integer courseId : new LinkedHashSet<>(courseIds)) {
+            Integer owner = owners.putIfAbsent(courseId, facultyId);
+            if (owner == null) {
+                reserved.add(courseId);
+            } else if (!owner.equals(facultyId)) {
+                Integer actualOwner = facultyCourseRepository.findOwnerIdByCourseId(courseId).orElse(null);
+                if (actualOwner == null || actualOwner.equals(facultyId)) {
+                    // Stale hint, e.g. released on another node
+                    if (owners.replace(courseId, owner, facultyId)) {
+                        reserved.add(courseId);
+                    } else {
+                        conflicts.add(courseId);
+                    }
+                } else {
+                    owners.replace(courseId, owner, actualOwner);
+                    conflicts.add(courseId);
+                }
+            }
+        }
+
+        if (!conflicts.isEmpty()) {
+            release(facultyId, reserved);
+            return conflicts;
+        }
+
+        Set<Integer> released = new LinkedHashSet<>(releasedCourseIds);
+        released.removeAll(courseIds);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        release(facultyId, released);
+                    } else {
+                        release(facultyId, reserved);
+                    }
+                }
+            });
+        } else {
+            release(facultyId, released);
+        }
+        return List.of();
+    }
+
+    /**
+     * Applies assignments changed on another instance
+     */
+    @EventListener
+    public void onRemoteFacultyChanged(RemoteFacultyChangedEvent event) {
+        FacultyChangedEvent change = event.getChange();
+        Integer facultyId = change.getFacultyId();
+        if (change.getBefore() != null) {
+            release(facultyId, change.getBefore().getCourseIds());
+        }
+        if (change.getAfter() != null) {
+            change.getAfter().getCourseIds().forEach(courseId -> owners.put(courseId, facultyId));
+        }
+    }
+
+    /**
+     * Drops the given courses from facultyId, leaving courses owned by someone else untouched.
+     */
+    public void release(Integer facultyId, Collection<Integer> courseIds) {
+        courseIds.forEach(courseId -> owners.remove(courseId, facultyId));
+    }
+}
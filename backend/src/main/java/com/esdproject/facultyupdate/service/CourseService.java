@@ -1,7 +1,6 @@
 package com.esdproject.facultyupdate.service;
 
 import com.esdproject.facultyupdate.entity.Course;
-import com.esdproject.facultyupdate.repository.CourseRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,10 +10,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CourseService {
 
-    private final CourseRepository courseRepository;
+    private final ReferenceDataSnapshot referenceDataSnapshot;
 
+    /**
+     * Served from memory; see ReferenceDataSnapshot
+     */
     public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+        return referenceDataSnapshot.getCourses();
     }
 }
 
@@ -1,7 +1,6 @@
 package com.esdproject.facultyupdate.service;
 
 import com.esdproject.facultyupdate.entity.Department;
-import com.esdproject.facultyupdate.repository.DepartmentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,10 +10,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DepartmentService {
 
-    private final DepartmentRepository departmentRepository;
+    private final ReferenceDataSnapshot referenceDataSnapshot;
 
+    /**
+     * Served from memory; see ReferenceDataSnapshot
+     */
     public List<Department> getAllDepartments() {
-        return departmentRepository.findAll();
+        return referenceDataSnapshot.getDepartments();
     }
 }
 
@@ -0,0 +1,224 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.dto.DirectoryEntry;
+import com.esdproject.facultyupdate.dto.DirectorySearchResult;
+import com.esdproject.facultyupdate.entity.Course;
+import com.esdproject.facultyupdate.entity.Department;
+import com.esdproject.facultyupdate.entity.Employee;
+import com.esdproject.facultyupdate.event.FacultyChangedEvent;
+import com.esdproject.facultyupdate.event.RemoteFacultyChangedEvent;
+import com.esdproject.facultyupdate.event.FacultySnapshot;
+import com.esdproject.facultyupdate.repository.CourseRepository;
+import com.esdproject.facultyupdate.repository.DepartmentRepository;
+import com.esdproject.facultyupdate.repository.EmployeeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index for the faculty directory search.
+ *
+ * Built from one fetch-join query at startup and kept current from committed
+ * FacultyChangedEvents, local ones and those relayed from other instances by the
+ * change feed, so searches never scan the employees table. Terms are
+ * lower-cased words of the name, title, department name and taught course codes;
+ * query words also match as prefixes. All query words must match; hits are ranked
+ * by field weight times inverse document frequency.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FacultyDirectoryIndex {
+
+    private static final int NAME_WEIGHT = 4;
+    private static final int COURSE_WEIGHT = 3;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DEPARTMENT_WEIGHT = 1;
+    // A prefix hit ("jo" -> "john") counts less than a whole word
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final CourseRepository courseRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, DirectoryEntry> entries = new HashMap<>();
+    // term -> (faculty id -> best field weight of the term in that entry)
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    // faculty id -> its terms, so a change only touches that entry's postings
+    private final Map<Integer, Set<String>> entryTerms = new HashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        List<DirectoryEntry> loaded = employeeRepository.findAllForDirectory().stream()
+                .map(this::toEntry)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            postings.clear();
+            entryTerms.clear();
+            loaded.forEach(this::add);
+            log.info("Faculty directory index built with {} entries and {} terms", entries.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onFacultyChanged(FacultyChangedEvent event) {
+        DirectoryEntry entry = event.getAfter() != null ? toEntry(event.getAfter()) : null;
+        lock.writeLock().lock();
+        try {
+            remove(event.getFacultyId());
+            if (entry != null) {
+                add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registrations, edits and deletions made on another instance
+     */
+    @EventListener
+    public void onRemoteFacultyChanged(RemoteFacultyChangedEvent event) {
+        onFacultyChanged(event.getChange());
+    }
+
+    public DirectorySearchResult search(String query, int page, int size) {
+        List<String> words = tokenize(query).stream().distinct().toList();
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain letters or digits");
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = null;
+            for (String word : words) {
+                Map<Integer, Double> wordScores = scoreWord(word);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((id, score) -> score + wordScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            Map<Integer, Double> finalScores = scores;
+            List<DirectoryEntry> ranked = finalScores.keySet().stream()
+                    .map(entries::get)
+                    .sorted(Comparator.<DirectoryEntry>comparingDouble(entry -> -finalScores.get(entry.getId()))
+                            .thenComparing(DirectoryEntry::getLastName, String.CASE_INSENSITIVE_ORDER)
+                            .thenComparing(DirectoryEntry::getFirstName, String.CASE_INSENSITIVE_ORDER)
+                            .thenComparing(DirectoryEntry::getId))
+                    .toList();
+
+            int from = (int) Math.min((long) page * size, ranked.size());
+            int to = Math.min(from + size, ranked.size());
+            return new DirectorySearchResult(ranked.subList(from, to), page, size, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Double> scoreWord(String word) {
+        Map<Integer, Double> wordScores = new HashMap<>();
+        postings.subMap(word, true, word + Character.MAX_VALUE, false).forEach((term, matches) -> {
+            double factor = term.equals(word) ? 1 : PREFIX_FACTOR;
+            double idf = Math.log(1 + (double) entries.size() / matches.size());
+            matches.forEach((id, weight) -> wordScores.merge(id, weight * factor * idf, Math::max));
+        });
+        return wordScores;
+    }
+
+    // Callers hold the write lock
+
+    private void add(DirectoryEntry entry) {
+        entries.put(entry.getId(), entry);
+        Set<String> terms = new HashSet<>();
+        index(entry.getId(), entry.getFirstName(), NAME_WEIGHT, terms);
+        index(entry.getId(), entry.getLastName(), NAME_WEIGHT, terms);
+        index(entry.getId(), entry.getTitle(), TITLE_WEIGHT, terms);
+        index(entry.getId(), entry.getDepartmentName(), DEPARTMENT_WEIGHT, terms);
+        entry.getCourseCodes().forEach(code -> index(entry.getId(), code, COURSE_WEIGHT, terms));
+        entryTerms.put(entry.getId(), terms);
+    }
+
+    private void remove(Integer id) {
+        if (entries.remove(id) == null) {
+            return;
+        }
+        for (String term : entryTerms.remove(id)) {
+            Map<Integer, Integer> matches = postings.get(term);
+            matches.remove(id);
+            if (matches.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private void index(Integer id, String text, int weight, Set<String> terms) {
+        for (String term : tokenize(text)) {
+            postings.computeIfAbsent(term, t -> new HashMap<>()).merge(id, weight, Math::max);
+            terms.add(term);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private DirectoryEntry toEntry(Employee employee) {
+        List<String> courseCodes = employee.getCourses().stream()
+                .map(fc -> fc.getCourse().getCourseCode())
+                .sorted()
+                .toList();
+        Department department = employee.getDepartment();
+        return new DirectoryEntry(employee.getId(), employee.getEmployeeId(), employee.getFirstName(),
+                employee.getLastName(), employee.getTitle(), employee.getPhotographPath(),
+                department != null ? department.getDepartmentId() : null,
+                department != null ? department.getName() : null,
+                courseCodes);
+    }
+
+    // Department and course names come from the second-level cache
+    private DirectoryEntry toEntry(FacultySnapshot snapshot) {
+        List<String> courseCodes = snapshot.getCourseIds().isEmpty()
+                ? List.of()
+                : courseRepository.findByCourseIdIn(snapshot.getCourseIds()).stream()
+                        .map(Course::getCourseCode)
+                        .sorted()
+                        .toList();
+        String departmentName = snapshot.getDepartmentId() == null ? null
+                : departmentRepository.findById(snapshot.getDepartmentId()).map(Department::getName).orElse(null);
+        return new DirectoryEntry(snapshot.getId(), snapshot.getEmployeeId(), snapshot.getFirstName(),
+                snapshot.getLastName(), snapshot.getTitle(), snapshot.getPhotographPath(),
+                snapshot.getDepartmentId(), departmentName, courseCodes);
+    }
+}
@@ -0,0 +1,31 @@
+package com.esdproject.facultyupdate.service;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+
+import java.util.Collection;
+
+/**
+ * OIDC principal built from the ID token alone, carrying the employee record its
+ * email resolved to at login
+ */
+public class FacultyOidcUser extends DefaultOidcUser {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Integer facultyId;
+
+    public FacultyOidcUser(Collection<? extends GrantedAuthority> authorities, OidcIdToken idToken,
+                           String nameAttributeKey, Integer facultyId) {
+        super(authorities, idToken, nameAttributeKey);
+        this.facultyId = facultyId;
+    }
+
+    /**
+     * @return ID of the employee with the token's email at login, or null if there was none
+     */
+    public Integer getFacultyId() {
+        return facultyId;
+    }
+}
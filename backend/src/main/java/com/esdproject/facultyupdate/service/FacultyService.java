@@ -1,5 +1,7 @@
 package com.esdproject.facultyupdate.service;
 
+import com.esdproject.facultyupdate.dto.FacultyBatchRequest;
+import com.esdproject.facultyupdate.dto.FacultyBatchResponse;
 import com.esdproject.facultyupdate.dto.FacultyRegistrationRequest;
 import com.esdproject.facultyupdate.dto.FacultyResponse;
 import com.esdproject.facultyupdate.dto.FacultyUpdateRequest;
@@ -7,28 +9,50 @@ import com.esdproject.facultyupdate.entity.Course;
 import com.esdproject.facultyupdate.entity.Department;
 import com.esdproject.facultyupdate.entity.Employee;
 import com.esdproject.facultyupdate.entity.FacultyCourse;
+import com.esdproject.facultyupdate.event.FacultyChangedEvent;
+import com.esdproject.facultyupdate.event.FacultySnapshot;
+import com.esdproject.facultyupdate.exception.ConflictException;
 import com.esdproject.facultyupdate.exception.ResourceNotFoundException;
+import com.esdproject.facultyupdate.exception.UnauthorizedAccessException;
 import com.esdproject.facultyupdate.repository.CourseRepository;
 import com.esdproject.facultyupdate.repository.DepartmentRepository;
 import com.esdproject.facultyupdate.repository.EmployeeRepository;
 import com.esdproject.facultyupdate.repository.FacultyCourseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class FacultyService {
 
+    // Keys per IN query in batch lookups, well under database parameter limits
+    private static final int BATCH_CHUNK_SIZE = 500;
+
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final CourseRepository courseRepository;
     private final FacultyCourseRepository facultyCourseRepository;
-    private final FileStorageService fileStorageService;
+    private final PhotoPromotionService photoPromotionService;
     private final AuthenticationService authenticationService;
+    private final CourseOwnershipRegistry courseOwnershipRegistry;
+    private final CapacityTracker capacityTracker;
+    private final UnknownEmailCache unknownEmailCache;
+    private final ApplicationEventPublisher eventPublisher;
     private final jakarta.persistence.EntityManager entityManager;
 
     @Transactional
@@ -36,6 +60,7 @@ public class FacultyService {
         // Find employee by surrogate id
         Employee employee = employeeRepository.findById(request.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + request.getId()));
+        FacultySnapshot before = FacultySnapshot.of(employee);
 
         // Check if email is being changed and if new email already exists
         if (!employee.getEmail().equalsIgnoreCase(request.getEmail().trim())) {
@@ -43,12 +68,16 @@ public class FacultyService {
                 throw new IllegalArgumentException("Email already exists: " + request.getEmail());
             }
             employee.setEmail(request.getEmail());
+            unknownEmailCache.forget(request.getEmail());
         }
 
         // Find department
         Department department = departmentRepository.findById(request.getDepartmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + request.getDepartmentId()));
 
+        // Take a place in the new department and free the one in the old department
+        capacityTracker.transfer(before.getDepartmentId(), department);
+
         // Update employee details
         if (request.getEmployeeId() != null) {
             employee.setEmployeeId(request.getEmployeeId());
@@ -58,72 +87,70 @@ public class FacultyService {
         employee.setTitle(request.getTitle());
         employee.setDepartment(department);
 
-        // Update photograph path if provided
+        // Update photograph path if provided; the files are swapped after commit
         if (request.getPhotographPath() != null && !request.getPhotographPath().isEmpty()) {
-            // Delete old photograph if exists
-            if (employee.getPhotographPath() != null) {
-                try {
-                    fileStorageService.deleteFile(employee.getPhotographPath());
-                } catch (Exception e) {
-                    // Log error but continue
-                }
-            }
+            photoPromotionService.replaceAfterCommit(request.getPhotographPath(), employee.getPhotographPath());
             employee.setPhotographPath(request.getPhotographPath());
         }
 
         // Update courses
         if (request.getCourseIds() != null) {
-            try {
-                // 1. Clear faculty name from previously assigned courses
-                List<FacultyCourse> existingAssociations = facultyCourseRepository.findByFaculty_Id(employee.getId());
-                for (FacultyCourse fc : existingAssociations) {
-                    Course course = fc.getCourse();
-                    course.setFaculty(null);
-                    courseRepository.save(course);
-                }
+            // 1. Clear faculty name from previously assigned courses
+            List<FacultyCourse> existingAssociations = facultyCourseRepository.findByFaculty_Id(employee.getId());
+            List<Integer> previousCourseIds = existingAssociations.stream()
+                    .map(fc -> fc.getCourse().getCourseId())
+                    .toList();
+            for (FacultyCourse fc : existingAssociations) {
+                Course course = fc.getCourse();
+                course.setFaculty(null);
+                courseRepository.save(course);
+            }
 
-                // Remove existing course associations
-                facultyCourseRepository.deleteByFaculty_Id(employee.getId());
-                employee.getCourses().clear();
-                
-                // Flush to ensure deletions are committed before inserts
-                entityManager.flush();
-
-                // Add new course associations
-                if (!request.getCourseIds().isEmpty()) {
-                    List<Course> courses = courseRepository.findAllById(request.getCourseIds());
-                    if (courses.size() != request.getCourseIds().size()) {
-                        throw new ResourceNotFoundException("One or more courses not found. Expected " + request.getCourseIds().size() + " but found " + courses.size());
-                    }
-
-                    // Validate that courses are not taken by other faculty
-                    for (Course course : courses) {
-                        if (facultyCourseRepository.existsByCourse_CourseIdAndFaculty_IdNot(course.getCourseId(), employee.getId())) {
-                            throw new IllegalArgumentException("Course '" + course.getName() + "' (" + course.getCourseCode() + ") is already assigned to another faculty member.");
-                        }
-                    }
-
-                    String facultyName = employee.getFirstName() + " " + employee.getLastName();
-
-                    for (Course course : courses) {
-                        // Create association
-                        FacultyCourse facultyCourse = new FacultyCourse();
-                        facultyCourse.setFaculty(employee);
-                        facultyCourse.setCourse(course);
-                        employee.getCourses().add(facultyCourse);
-                        
-                        // 2. Update faculty name in course table
-                        course.setFaculty(facultyName);
-                        courseRepository.save(course);
-                    }
-                }
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to update courses: " + e.getMessage(), e);
+            // Remove existing course associations
+            facultyCourseRepository.deleteByFaculty_Id(employee.getId());
+            employee.getCourses().clear();
+            
+            // Flush to ensure deletions are committed before inserts
+            entityManager.flush();
+
+            // Add new course associations
+            List<Course> courses = request.getCourseIds().isEmpty()
+                    ? List.of()
+                    : courseRepository.findByCourseIdIn(request.getCourseIds());
+            if (courses.size() != request.getCourseIds().size()) {
+                throw new ResourceNotFoundException("One or more courses not found. Expected " + request.getCourseIds().size() + " but found " + courses.size());
+            }
+
+            // Reserve the courses in the ownership registry (in-memory; only courses it lists as
+            // taken are checked in the database). Previously owned courses are only released
+            // once this transaction commits.
+            List<Integer> conflicts = courseOwnershipRegistry.claim(employee.getId(), request.getCourseIds(), previousCourseIds);
+            if (!conflicts.isEmpty()) {
+                Course course = courses.stream()
+                        .filter(c -> conflicts.contains(c.getCourseId()))
+                        .findFirst()
+                        .orElseThrow();
+                throw new ConflictException("Course '" + course.getName() + "' (" + course.getCourseCode() + ") is already assigned to another faculty member.");
+            }
+
+            String facultyName = employee.getFirstName() + " " + employee.getLastName();
+
+            for (Course course : courses) {
+                // Create association
+                FacultyCourse facultyCourse = new FacultyCourse();
+                facultyCourse.setFaculty(employee);
+                facultyCourse.setCourse(course);
+                employee.getCourses().add(facultyCourse);
+
+                // 2. Update faculty name in course table
+                course.setFaculty(facultyName);
+                courseRepository.save(course);
             }
         }
 
         // Save employee (cascade will handle courses)
-        employee = employeeRepository.save(employee);
+        employee = saveAndFlushAssignments(employee);
+        publishChange(FacultyChangedEvent.ChangeType.UPDATED, before, FacultySnapshot.of(employee));
 
         return mapToResponse(employee);
     }
@@ -149,41 +176,90 @@ public class FacultyService {
         employee.setEmail(request.getEmail());
         employee.setTitle(request.getTitle());
         employee.setPhotographPath(request.getPhotographPath());
+        unknownEmailCache.forget(request.getEmail());
         employee.setDepartment(department);
+        capacityTracker.transfer(null, department);
 
         // Save employee first to get ID
         employee = employeeRepository.save(employee);
 
         // Add courses if provided
         if (request.getCourseIds() != null && !request.getCourseIds().isEmpty()) {
-            List<Course> courses = courseRepository.findAllById(request.getCourseIds());
+            List<Course> courses = courseRepository.findByCourseIdIn(request.getCourseIds());
             if (courses.size() != request.getCourseIds().size()) {
                 throw new ResourceNotFoundException("One or more courses not found");
             }
 
+            List<Integer> conflicts = courseOwnershipRegistry.claim(employee.getId(), request.getCourseIds(), List.of());
+            if (!conflicts.isEmpty()) {
+                throw new ConflictException("Courses already assigned to another faculty member: " + conflicts);
+            }
+
             for (Course course : courses) {
                 FacultyCourse facultyCourse = new FacultyCourse();
                 facultyCourse.setFaculty(employee);
                 facultyCourse.setCourse(course);
                 employee.getCourses().add(facultyCourse);
             }
-            employee = employeeRepository.save(employee);
+            employee = saveAndFlushAssignments(employee);
         }
+        publishChange(FacultyChangedEvent.ChangeType.REGISTERED, null, FacultySnapshot.of(employee));
 
         return mapToResponse(employee);
     }
 
+    /**
+     * Flushes the employee with its course assignments so a course taken by someone else
+     * in the meantime (the registry is only a hint, e.g. on another node) fails here on
+     * uk_faculty_courses_course and is reported as a conflict.
+     */
+    private Employee saveAndFlushAssignments(Employee employee) {
+        try {
+            return employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            if (cause.contains("uk_faculty_courses_course")) {
+                throw new ConflictException("One or more courses were just assigned to another faculty member.");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Throws unless the current user is a registered faculty member
+     * @throws UnauthorizedAccessException for any other signed-in account
+     */
+    @Transactional(readOnly = true)
+    public void requireRegisteredFaculty(String deniedMessage) {
+        try {
+            findRegisteredEmployee(authenticationService.getCurrentUserEmail(), deniedMessage);
+        } catch (ResourceNotFoundException e) {
+            throw new UnauthorizedAccessException(deniedMessage);
+        }
+    }
+
     /**
      * Get the current authenticated faculty member's profile
      * @return FacultyResponse with current user's data
      * @throws ResourceNotFoundException if email not found in employees table
      */
+    @Transactional(readOnly = true)
     public FacultyResponse getCurrentFacultyProfile() {
+        return getCurrentFacultyProfile(true);
+    }
+
+    /**
+     * Get the current authenticated faculty member's profile
+     * @param includeCourses false to leave courses null without loading the assignments
+     * @return FacultyResponse with current user's data
+     * @throws ResourceNotFoundException if email not found in employees table
+     */
+    @Transactional(readOnly = true)
+    public FacultyResponse getCurrentFacultyProfile(boolean includeCourses) {
         String email = authenticationService.getCurrentUserEmail();
-        Employee employee = employeeRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                    "User not found. Your email (" + email + ") is not registered in the system. Please contact administrator."));
-        return mapToResponse(employee);
+        Employee employee = findRegisteredEmployee(email,
+                "User not found. Your email (" + email + ") is not registered in the system. Please contact administrator.");
+        return mapToResponse(employee, includeCourses);
     }
 
     /**
@@ -195,9 +271,8 @@ public class FacultyService {
     @Transactional
     public FacultyResponse updateCurrentFacultyProfile(FacultyUpdateRequest request) {
         String email = authenticationService.getCurrentUserEmail();
-        Employee employee = employeeRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                    "User not found. Your email is not registered in the system."));
+        Employee employee = findRegisteredEmployee(email,
+                "User not found. Your email is not registered in the system.");
         
         // Override the ID in request with the current user's ID to prevent tampering
         request.setId(employee.getId());
@@ -205,12 +280,37 @@ public class FacultyService {
         return updateFaculty(request);
     }
 
+    /**
+     * Point the current authenticated faculty member's profile at a new photograph,
+     * without touching the rest of the profile
+     * @param photographPath Relative path of the stored photo
+     * @return Updated FacultyResponse
+     * @throws ResourceNotFoundException if email not found
+     */
+    @Transactional
+    public FacultyResponse updateCurrentFacultyPhoto(String photographPath) {
+        String email = authenticationService.getCurrentUserEmail();
+        Employee employee = findRegisteredEmployee(email,
+                "User not found. Your email is not registered in the system.");
+        FacultySnapshot before = FacultySnapshot.of(employee);
+
+        String previousPath = employee.getPhotographPath();
+        employee.setPhotographPath(photographPath);
+        employee = employeeRepository.save(employee);
+        photoPromotionService.replaceAfterCommit(photographPath, previousPath);
+        publishChange(FacultyChangedEvent.ChangeType.UPDATED, before, FacultySnapshot.of(employee));
+
+        return mapToResponse(employee);
+    }
+
+    @Transactional(readOnly = true)
     public FacultyResponse getFacultyById(Integer employeeId) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
         return mapToResponse(employee);
     }
 
+    @Transactional(readOnly = true)
     public List<FacultyResponse> getAllFaculty() {
         return employeeRepository.findAll().stream()
                 .map(this::mapToResponse)
@@ -222,19 +322,151 @@ public class FacultyService {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
 
-        // Delete photograph if exists
-        if (employee.getPhotographPath() != null) {
-            try {
-                fileStorageService.deleteFile(employee.getPhotographPath());
-            } catch (Exception e) {
-                // Log error but continue
+        // Delete photograph if exists, once the row is gone
+        photoPromotionService.deleteAfterCommit(employee.getPhotographPath());
+
+        FacultySnapshot before = FacultySnapshot.of(employee);
+        courseOwnershipRegistry.claim(employee.getId(), List.of(), before.getCourseIds());
+        capacityTracker.release(before.getDepartmentId());
+
+        // Outbox row last, so little time passes between allocating its id and the commit
+        employeeRepository.delete(employee);
+        employeeRepository.flush();
+        publishChange(FacultyChangedEvent.ChangeType.DELETED, before, null);
+    }
+
+    /**
+     * SingleFlight key for the profile read of the given login email, so the /me and
+     * bootstrap endpoints share loads
+     */
+    public static String profileFlightKey(String email) {
+        return "faculty-profile:" + email;
+    }
+
+    /**
+     * Listeners (audit trail etc.) receive the event after the transaction commits
+     */
+    private void publishChange(FacultyChangedEvent.ChangeType type, FacultySnapshot before, FacultySnapshot after) {
+        eventPublisher.publishEvent(new FacultyChangedEvent(type, before, after, authenticationService.getCurrentActor()));
+    }
+
+    /**
+     * Look up many faculty members at once, for integrations. Keys are resolved in chunks
+     * with one IN query each that also fetches departments and courses. Employee codes
+     * match case-insensitively, like the column's collation, and a member requested by
+     * both keys is returned once.
+     * @param request Surrogate IDs and/or employee codes
+     * @return Found profiles in request order, plus the keys that did not match
+     * @throws UnauthorizedAccessException if the current user is not an administrator
+     */
+    @Transactional(readOnly = true)
+    public FacultyBatchResponse getFacultyBatch(FacultyBatchRequest request) {
+        if (!authenticationService.isCurrentUserAdmin()) {
+            throw new UnauthorizedAccessException("Batch lookup is limited to administrators.");
+        }
+        List<Integer> ids = distinctKeys(request.getIds());
+        List<String> employeeIds = distinctCodes(request.getEmployeeIds());
+        if (ids.isEmpty() && employeeIds.isEmpty()) {
+            throw new IllegalArgumentException("Provide at least one id or employeeId");
+        }
+
+        Map<Integer, Employee> byId = new HashMap<>();
+        for (List<Integer> chunk : chunks(ids)) {
+            employeeRepository.findAllWithDetailsByIdIn(chunk).forEach(e -> byId.put(e.getId(), e));
+        }
+        Map<String, Employee> byEmployeeId = new HashMap<>();
+        for (List<String> chunk : chunks(employeeIds)) {
+            employeeRepository.findAllWithDetailsByEmployeeIdIn(chunk).forEach(e -> byEmployeeId.put(codeKey(e.getEmployeeId()), e));
+        }
+
+        List<FacultyResponse> results = new ArrayList<>();
+        Set<Integer> returned = new HashSet<>();
+        List<Integer> missingIds = new ArrayList<>();
+        List<String> missingEmployeeIds = new ArrayList<>();
+        for (Integer id : ids) {
+            Employee employee = byId.get(id);
+            if (employee != null) {
+                if (returned.add(employee.getId())) {
+                    results.add(mapToResponse(employee));
+                }
+            } else {
+                missingIds.add(id);
             }
         }
+        for (String employeeId : employeeIds) {
+            Employee employee = byEmployeeId.get(codeKey(employeeId));
+            if (employee != null) {
+                if (returned.add(employee.getId())) {
+                    results.add(mapToResponse(employee));
+                }
+            } else {
+                missingEmployeeIds.add(employeeId);
+            }
+        }
+        return new FacultyBatchResponse(results, missingIds, missingEmployeeIds);
+    }
 
-        employeeRepository.delete(employee);
+    private static <T> List<T> distinctKeys(List<T> keys) {
+        return keys == null ? List.of() : keys.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    /**
+     * Distinct employee codes, compared the way MySQL compares them (case-insensitive,
+     * trailing spaces ignored); the first spelling of each is kept
+     */
+    private static List<String> distinctCodes(List<String> codes) {
+        if (codes == null) {
+            return List.of();
+        }
+        Map<String, String> byKey = new LinkedHashMap<>();
+        codes.stream().filter(Objects::nonNull).forEach(code -> byKey.putIfAbsent(codeKey(code), code));
+        return List.copyOf(byKey.values());
+    }
+
+    private static String codeKey(String code) {
+        return code.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> List<List<T>> chunks(List<T> keys) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(keys.subList(from, Math.min(keys.size(), from + BATCH_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Looks up the employee for a logged-in email. Unregistered emails are remembered
+     * for a short time so repeated calls from them do not query the database.
+     * An OIDC login already resolved the employee, which is then loaded by id; the email
+     * check covers a record deleted or changed since the login.
+     */
+    private Employee findRegisteredEmployee(String email, String notFoundMessage) {
+        Integer facultyId = authenticationService.getCurrentFacultyId();
+        if (facultyId != null) {
+            Optional<Employee> employee = employeeRepository.findById(facultyId)
+                    .filter(candidate -> email.equalsIgnoreCase(candidate.getEmail()));
+            if (employee.isPresent()) {
+                return employee.get();
+            }
+        }
+        if (unknownEmailCache.isUnknown(email)) {
+            throw new ResourceNotFoundException(notFoundMessage);
+        }
+        Optional<Employee> employee = employeeRepository.findByEmail(email);
+        if (employee.isPresent()) {
+            return employee.get();
+        }
+        // A replica may not have a registration from a moment ago yet; only cache a miss the primary agrees with
+        unknownEmailCache.confirmUnknown(email);
+        throw new ResourceNotFoundException(notFoundMessage);
     }
 
     private FacultyResponse mapToResponse(Employee employee) {
+        return mapToResponse(employee, true);
+    }
+
+    private FacultyResponse mapToResponse(Employee employee, boolean includeCourses) {
         FacultyResponse response = new FacultyResponse();
         response.setId(employee.getId());
         response.setEmployeeId(employee.getEmployeeId());
@@ -252,7 +484,8 @@ public class FacultyService {
             response.setDepartment(deptDto);
         }
 
-        if (employee.getCourses() != null) {
+        // The course assignments are a lazy collection: not touching them saves the query
+        if (includeCourses && employee.getCourses() != null) {
             List<FacultyResponse.CourseDto> courseDtos = employee.getCourses().stream()
                     .map(fc -> {
                         FacultyResponse.CourseDto courseDto = new FacultyResponse.CourseDto();
@@ -14,6 +14,8 @@ import java.util.UUID;
 @Service
 public class FileStorageService {
 
+    private static final String STORED_PATH_PREFIX = "uploads/faculty-photos/";
+
     @Value("${file.upload-dir}")
     private String uploadDir;
 
@@ -56,16 +58,65 @@ public class FileStorageService {
 
         // Return relative path for database storage
         // This ensures we store "uploads/faculty-photos/filename.jpg" regardless of the absolute uploadDir
-        return "uploads/faculty-photos/" + filename;
+        return STORED_PATH_PREFIX + filename;
+    }
+
+    /**
+     * Directory for partially uploaded files, inside the upload directory so a finished
+     * upload can be moved into place atomically
+     */
+    public Path getStagingDirectory() throws IOException {
+        Path stagingPath = Paths.get(uploadDir).resolve(".staging");
+        Files.createDirectories(stagingPath);
+        return stagingPath;
+    }
+
+    /**
+     * Moves a staged file into the upload directory under the given name, replacing
+     * any existing file of that name
+     * @return Relative path for database storage
+     */
+    public String promote(Path stagedFile, String filename) throws IOException {
+        Path target = Paths.get(uploadDir).resolve(filename);
+        Files.move(stagedFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return storedPathOf(filename);
+    }
+
+    /**
+     * @return Relative path for database storage of a file in the upload directory
+     */
+    public String storedPathOf(String filename) {
+        return STORED_PATH_PREFIX + filename;
     }
 
     public void deleteFile(String filePath) throws IOException {
         if (filePath != null && !filePath.isEmpty()) {
-            Path path = Paths.get(filePath);
-            if (Files.exists(path)) {
+            Path path = resolveStoredPath(filePath);
+            if (path != null && Files.exists(path)) {
                 Files.delete(path);
             }
         }
     }
+
+    public Path getUploadDirectory() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Maps a photograph_path value ("uploads/faculty-photos/filename.jpg") to the file
+     * under the upload directory
+     * @return Absolute path, or null if the value points outside the upload directory
+     */
+    public Path resolveStoredPath(String storedPath) {
+        if (storedPath == null || storedPath.isBlank()) {
+            return null;
+        }
+        String relative = storedPath.startsWith(STORED_PATH_PREFIX)
+                ? storedPath.substring(STORED_PATH_PREFIX.length())
+                : Paths.get(storedPath).getFileName().toString();
+        Path root = getUploadDirectory();
+        Path resolved = root.resolve(relative).normalize();
+        return resolved.startsWith(root) && !resolved.equals(root) ? resolved : null;
+    }
 }
 
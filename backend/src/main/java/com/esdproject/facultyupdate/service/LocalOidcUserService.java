@@ -0,0 +1,76 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.entity.Employee;
+import com.esdproject.facultyupdate.repository.EmployeeRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Builds the logged-in user from the already validated ID token instead of calling
+ * the provider's userinfo endpoint, and looks up the matching employee in the same
+ * step so later requests can load the profile by id.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.security.oidc", name = "enabled", havingValue = "true")
+public class LocalOidcUserService implements OAuth2UserService<OidcUserRequest, OidcUser> {
+
+    private final EmployeeRepository employeeRepository;
+    private final UnknownEmailCache unknownEmailCache;
+
+    public LocalOidcUserService(EmployeeRepository employeeRepository, UnknownEmailCache unknownEmailCache) {
+        this.employeeRepository = employeeRepository;
+        this.unknownEmailCache = unknownEmailCache;
+    }
+
+    @Override
+    public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2AuthenticationException {
+        OidcIdToken idToken = userRequest.getIdToken();
+        String email = idToken.getEmail();
+        if (!StringUtils.hasText(email)) {
+            throw new OAuth2AuthenticationException(new OAuth2Error("invalid_id_token",
+                    "The ID token has no email claim; the email scope must be requested", null));
+        }
+        if (Boolean.FALSE.equals(idToken.getEmailVerified())) {
+            throw new OAuth2AuthenticationException(new OAuth2Error("invalid_id_token",
+                    "The email address " + email + " is not verified", null));
+        }
+
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+        authorities.add(new OidcUserAuthority(idToken));
+        for (String scope : userRequest.getAccessToken().getScopes()) {
+            authorities.add(new SimpleGrantedAuthority("SCOPE_" + scope));
+        }
+
+        String nameAttributeKey = userRequest.getClientRegistration().getProviderDetails()
+                .getUserInfoEndpoint().getUserNameAttributeName();
+        return new FacultyOidcUser(authorities, idToken,
+                StringUtils.hasText(nameAttributeKey) ? nameAttributeKey : IdTokenClaimNames.SUB,
+                resolveFacultyId(email));
+    }
+
+    private Integer resolveFacultyId(String email) {
+        if (unknownEmailCache.isUnknown(email)) {
+            return null;
+        }
+        Integer facultyId = employeeRepository.findByEmail(email).map(Employee::getId).orElse(null);
+        // Repository reads may come from a replica; only cache a miss the primary agrees with
+        if (facultyId == null) {
+            unknownEmailCache.confirmUnknown(email);
+        }
+        return facultyId;
+    }
+}
@@ -0,0 +1,321 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Two-phase photo replacement, so file system work never runs while a transaction
+ * holds locks on employees.
+ *
+ * A new photo is first staged as .staging/&lt;name&gt;.pending under a name no other
+ * photo uses, then only its path is committed. Right after the commit the staged file
+ * is renamed into place on the committing thread, so the path handed back to the client
+ * already resolves; deleting the previous photo, and a promotion that failed, run on a
+ * small bounded pool, retried with exponential backoff. If the transaction rolls back
+ * the staged file is dropped
+ * and the old photo is untouched. A periodic recovery pass promotes pending files
+ * whose path was committed (e.g. before a restart) and removes unreferenced ones
+ * after pending-grace; old photos whose deletion was lost are left to the orphan sweep.
+ */
+@Slf4j
+@Service
+public class PhotoPromotionService {
+
+    private static final String PENDING_SUFFIX = ".pending";
+    private static final int RECOVERY_BATCH_SIZE = 512;
+    private static final Pattern EXTENSION = Pattern.compile("\\.[A-Za-z0-9]{1,10}");
+
+    private record Task(String newPath, String oldPath, int attempt) {
+
+        Task next() {
+            return new Task(newPath, oldPath, attempt + 1);
+        }
+    }
+
+    private final FileStorageService fileStorageService;
+    private final EmployeeRepository employeeRepository;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration recoveryInterval;
+    private final Duration pendingGrace;
+    private final Counter failures;
+    private final ThreadPoolExecutor workers;
+    // Retries and the recovery pass
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "photo-promotion-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PhotoPromotionService(FileStorageService fileStorageService,
+                                 EmployeeRepository employeeRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.photo-promotion.threads:2}") int threads,
+                                 @Value("${app.photo-promotion.queue-capacity:500}") int queueCapacity,
+                                 @Value("${app.photo-promotion.max-attempts:5}") int maxAttempts,
+                                 @Value("${app.photo-promotion.retry-delay:1s}") Duration retryDelay,
+                                 @Value("${app.photo-promotion.recovery-interval:5m}") Duration recoveryInterval,
+                                 @Value("${app.photo-promotion.pending-grace:1h}") Duration pendingGrace) {
+        this.fileStorageService = fileStorageService;
+        this.employeeRepository = employeeRepository;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.recoveryInterval = recoveryInterval;
+        this.pendingGrace = pendingGrace;
+        this.failures = meterRegistry.counter("photo.promotion.failures");
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "photo-promotion-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        meterRegistry.gauge("photo.promotion.queued", workers.getQueue(), Collection::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::recoverQuietly,
+                0, recoveryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        scheduler.shutdownNow();
+        workers.shutdown();
+        // Queued work left behind is picked up by the recovery pass at the next start
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stages an uploaded photo under a new name; nothing references it yet
+     * @return Path to commit as photograph_path
+     */
+    public String stage(MultipartFile file, String employeeId) throws IOException {
+        String filename = newFilename(employeeId, extensionOf(file.getOriginalFilename()));
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, pendingFile(filename), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return fileStorageService.storedPathOf(filename);
+    }
+
+    /**
+     * Stages a file that is already in the staging directory, e.g. a finished resumable
+     * upload. The file itself stays, so the caller can try again if the commit fails.
+     * @return Path to commit as photograph_path
+     */
+    public String stage(Path stagedFile, String employeeId, String extension) throws IOException {
+        String filename = newFilename(employeeId, extension);
+        Path pending = pendingFile(filename);
+        try {
+            Files.createLink(pending, stagedFile);
+        } catch (UnsupportedOperationException | IOException e) {
+            // No hard links on this file system
+            Files.copy(stagedFile, pending, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return fileStorageService.storedPathOf(filename);
+    }
+
+    /**
+     * Drops a staged photo whose path was not committed
+     */
+    public void discard(String storedPath) {
+        try {
+            Files.deleteIfExists(pendingFile(filenameOf(storedPath)));
+        } catch (IOException e) {
+            log.warn("Could not remove staged photo {}", storedPath, e);
+        }
+    }
+
+    /**
+     * Called in the transaction that points a profile from oldPath to newPath: after the
+     * commit the staged newPath is moved into place before the caller returns and oldPath
+     * is deleted in the background; after a rollback the staged file is dropped. Either
+     * path may be null.
+     */
+    public void replaceAfterCommit(String newPath, String oldPath) {
+        String replaced = oldPath == null || oldPath.equals(newPath) ? null : oldPath;
+        if (newPath == null && replaced == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Outside the transaction, but before the response names the new path
+                if (newPath != null) {
+                    try {
+                        promote(newPath);
+                    } catch (IOException | RuntimeException e) {
+                        retry(new Task(newPath, replaced, 1), e);
+                        return;
+                    }
+                }
+                if (replaced != null) {
+                    submit(new Task(null, replaced, 1));
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK && newPath != null) {
+                    discard(newPath);
+                }
+            }
+        });
+    }
+
+    /**
+     * Deletes a photo once the transaction removing its last reference has committed
+     */
+    public void deleteAfterCommit(String path) {
+        replaceAfterCommit(null, path);
+    }
+
+    private void submit(Task task) {
+        try {
+            workers.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            log.warn("Photo promotion queue is full; {} is left to the recovery pass", task.newPath());
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            if (task.newPath() != null) {
+                promote(task.newPath());
+            }
+            if (task.oldPath() != null) {
+                fileStorageService.deleteFile(task.oldPath());
+            }
+        } catch (IOException | RuntimeException e) {
+            retry(task, e);
+        }
+    }
+
+    private void retry(Task task, Exception e) {
+        if (task.attempt() >= maxAttempts) {
+            failures.increment();
+            log.error("Giving up on photo replacement {} -> {} after {} attempts",
+                    task.oldPath(), task.newPath(), task.attempt(), e);
+            return;
+        }
+        long delay = retryDelay.toMillis() << (task.attempt() - 1);
+        log.warn("Photo replacement {} -> {} failed (attempt {}), retrying in {} ms: {}",
+                task.oldPath(), task.newPath(), task.attempt(), delay, e.getMessage());
+        try {
+            scheduler.schedule(() -> submit(task.next()), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException shuttingDown) {
+            // The recovery pass at the next start takes over
+        }
+    }
+
+    // Idempotent: a path that was never staged, or was already promoted, is left as it is
+    private void promote(String storedPath) throws IOException {
+        String filename = filenameOf(storedPath);
+        Path pending = pendingFile(filename);
+        if (Files.exists(pending)) {
+            fileStorageService.promote(pending, filename);
+        }
+    }
+
+    /**
+     * Promotes pending photos that were committed and removes old unreferenced ones
+     */
+    public void recover() throws IOException {
+        Instant cutoff = Instant.now().minus(pendingGrace);
+        // stored path -> pending file
+        Map<String, Path> pendingFiles = new HashMap<>();
+        try (DirectoryStream<Path> pending = Files.newDirectoryStream(fileStorageService.getStagingDirectory(),
+                "*" + PENDING_SUFFIX)) {
+            for (Path file : pending) {
+                String name = file.getFileName().toString();
+                pendingFiles.put(fileStorageService.storedPathOf(
+                        name.substring(0, name.length() - PENDING_SUFFIX.length())), file);
+            }
+        }
+        if (pendingFiles.isEmpty()) {
+            return;
+        }
+
+        Set<String> committed = new HashSet<>();
+        List<String> storedPaths = List.copyOf(pendingFiles.keySet());
+        for (int from = 0; from < storedPaths.size(); from += RECOVERY_BATCH_SIZE) {
+            committed.addAll(employeeRepository.findReferencedPhotographPaths(
+                    storedPaths.subList(from, Math.min(from + RECOVERY_BATCH_SIZE, storedPaths.size()))));
+        }
+        for (Map.Entry<String, Path> entry : pendingFiles.entrySet()) {
+            if (committed.contains(entry.getKey())) {
+                log.info("Promoting committed photo {} left pending", entry.getKey());
+                promote(entry.getKey());
+            } else if (Files.getLastModifiedTime(entry.getValue()).toInstant().isBefore(cutoff)) {
+                Files.deleteIfExists(entry.getValue());
+            }
+        }
+    }
+
+    private void recoverQuietly() {
+        try {
+            recover();
+        } catch (Exception e) {
+            // An escaping exception would cancel the schedule
+            log.warn("Pending photo recovery failed", e);
+        }
+    }
+
+    private Path pendingFile(String filename) throws IOException {
+        return fileStorageService.getStagingDirectory().resolve(filename + PENDING_SUFFIX);
+    }
+
+    private static String filenameOf(String storedPath) {
+        return Paths.get(storedPath).getFileName().toString();
+    }
+
+    // A fresh name per photo, so the committed old file is never overwritten
+    private static String newFilename(String employeeId, String extension) {
+        String suffix = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextInt());
+        return Objects.requireNonNullElse(employeeId, "photo").replaceAll("[^A-Za-z0-9_-]", "_")
+                + "-" + suffix + (extension != null && EXTENSION.matcher(extension).matches() ? extension : "");
+    }
+
+    private static String extensionOf(String originalFilename) {
+        return originalFilename != null && originalFilename.contains(".")
+                ? originalFilename.substring(originalFilename.lastIndexOf('.'))
+                : "";
+    }
+}
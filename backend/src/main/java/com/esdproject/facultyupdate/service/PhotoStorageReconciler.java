@@ -0,0 +1,380 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds photos in the upload directory that no employee references any more (failed
+ * deletes, a new upload with a different extension) and removes them in two steps.
+ *
+ * Each sweep pages through employees.photograph_path by id into a Bloom filter, then
+ * walks the upload tree on a fork/join pool, streaming each directory in batches. A file
+ * the filter has never seen is an orphan and is moved to .quarantine/&lt;sweep start&gt;/;
+ * quarantined files are deleted once the retention has passed, or put back if a row
+ * points at them again. A false positive only keeps an orphan for one more sweep. Memory
+ * is the filter (a few bytes per referenced path) plus a bounded number of batches in
+ * flight, however many files there are. Files younger than the minimum age are skipped
+ * so an upload that is still being committed is never touched.
+ */
+@Slf4j
+@Service
+public class PhotoStorageReconciler {
+
+    private static final String QUARANTINE_DIR = ".quarantine";
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    private static final int BATCH_SIZE = 512;
+    private static final int MAX_PENDING_BATCHES = 16;
+
+    private final FileStorageService fileStorageService;
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration minAge;
+    private final Duration quarantineRetention;
+    private final int pageSize;
+    private final int parallelism;
+    private final Counter quarantinedFiles;
+    private final Counter reclaimedBytes;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "photo-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record SweepReport(Instant startedAt, long durationMillis, long referencedPaths,
+                              long scannedFiles, long scannedBytes,
+                              long quarantinedFiles, long quarantinedBytes, long restoredFiles,
+                              long reclaimedFiles, long reclaimedBytes, long errors) {
+    }
+
+    public PhotoStorageReconciler(FileStorageService fileStorageService,
+                                  JdbcTemplate jdbcTemplate,
+                                  EmployeeRepository employeeRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.photo-sweep.enabled:true}") boolean enabled,
+                                  @Value("${app.photo-sweep.interval:6h}") Duration interval,
+                                  @Value("${app.photo-sweep.min-age:1h}") Duration minAge,
+                                  @Value("${app.photo-sweep.quarantine-retention:7d}") Duration quarantineRetention,
+                                  @Value("${app.photo-sweep.page-size:1000}") int pageSize,
+                                  @Value("${app.photo-sweep.parallelism:4}") int parallelism) {
+        this.fileStorageService = fileStorageService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.minAge = minAge;
+        this.quarantineRetention = quarantineRetention;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        this.quarantinedFiles = meterRegistry.counter("photo.sweep.quarantined.files");
+        this.reclaimedBytes = meterRegistry.counter("photo.sweep.reclaimed.bytes");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::sweepQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            // An escaping exception would cancel the schedule
+            log.error("Photo storage sweep failed", e);
+        }
+    }
+
+    private void sweep() throws IOException {
+        Path root = fileStorageService.getUploadDirectory();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Sweep sweep = new Sweep(root, Instant.now());
+
+        // Never guess: if the references cannot be read in full, nothing is moved
+        sweep.referenced = loadReferencedPaths(root, sweep);
+
+        processQuarantine(sweep);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new DirectoryTask(root, sweep));
+        } finally {
+            pool.shutdown();
+        }
+
+        SweepReport report = sweep.report();
+        quarantinedFiles.increment(report.quarantinedFiles());
+        reclaimedBytes.increment(report.reclaimedBytes());
+        log.info("Photo sweep: {} referenced, {} files ({} bytes) scanned, {} quarantined ({} bytes), "
+                        + "{} restored, {} deleted ({} bytes reclaimed), {} errors in {} ms",
+                report.referencedPaths(), report.scannedFiles(), report.scannedBytes(),
+                report.quarantinedFiles(), report.quarantinedBytes(), report.restoredFiles(),
+                report.reclaimedFiles(), report.reclaimedBytes(), report.errors(), report.durationMillis());
+    }
+
+    private PathBloomFilter loadReferencedPaths(Path root, Sweep sweep) {
+        Long expected = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employees WHERE photograph_path IS NOT NULL", Long.class);
+        // Headroom for rows written while paging
+        PathBloomFilter filter = new PathBloomFilter(Math.max(1024, expected * 3 / 2), FALSE_POSITIVE_RATE,
+                ThreadLocalRandom.current().nextLong());
+
+        int lastId = 0;
+        while (true) {
+            List<Object[]> page = jdbcTemplate.query(
+                    "SELECT id, photograph_path FROM employees WHERE id > ? AND photograph_path IS NOT NULL "
+                            + "ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{rs.getInt(1), rs.getString(2)}, lastId, pageSize);
+            for (Object[] row : page) {
+                Path file = fileStorageService.resolveStoredPath((String) row[1]);
+                if (file != null) {
+                    filter.add(key(root.relativize(file)));
+                    sweep.referencedPaths++;
+                }
+            }
+            if (page.size() < pageSize) {
+                return filter;
+            }
+            lastId = (Integer) page.get(page.size() - 1)[0];
+        }
+    }
+
+    /**
+     * Deletes expired quarantine runs and puts back anything that is referenced again
+     */
+    private void processQuarantine(Sweep sweep) throws IOException {
+        Path quarantine = sweep.root.resolve(QUARANTINE_DIR);
+        if (!Files.isDirectory(quarantine)) {
+            return;
+        }
+        Instant expiry = sweep.startedAt.minus(quarantineRetention);
+        try (DirectoryStream<Path> runs = Files.newDirectoryStream(quarantine)) {
+            for (Path run : runs) {
+                long runStartedAt;
+                try {
+                    runStartedAt = Long.parseLong(run.getFileName().toString());
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                boolean expired = Instant.ofEpochMilli(runStartedAt).isBefore(expiry);
+                Files.walkFileTree(run, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        Path relative = run.relativize(file);
+                        try {
+                            if (sweep.referenced.mightContain(key(relative))) {
+                                Path original = sweep.root.resolve(relative);
+                                if (!Files.exists(original, LinkOption.NOFOLLOW_LINKS)) {
+                                    Files.createDirectories(original.getParent());
+                                    Files.move(file, original, StandardCopyOption.ATOMIC_MOVE);
+                                    sweep.restoredFiles.increment();
+                                }
+                            } else if (expired) {
+                                Files.delete(file);
+                                sweep.reclaimedFiles.increment();
+                                sweep.reclaimedBytes.add(attrs.size());
+                            }
+                        } catch (IOException e) {
+                            sweep.fail(file, e);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+                        if (expired) {
+                            try {
+                                Files.deleteIfExists(dir);
+                            } catch (IOException notEmpty) {
+                                // Something was restored or could not be deleted; retried next sweep
+                            }
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+        }
+    }
+
+    private static String key(Path relative) {
+        return relative.toString().replace('\\', '/');
+    }
+
+    /**
+     * Streams one directory: files are checked in batches on the pool and subdirectories
+     * get their own task. At most MAX_PENDING_BATCHES tasks are kept open per directory.
+     */
+    private final class DirectoryTask extends RecursiveAction {
+
+        private final Path directory;
+        private final Sweep sweep;
+
+        DirectoryTask(Path directory, Sweep sweep) {
+            this.directory = directory;
+            this.sweep = sweep;
+        }
+
+        @Override
+        protected void compute() {
+            Deque<ForkJoinTask<Void>> pending = new ArrayDeque<>();
+            List<Path> batch = new ArrayList<>(BATCH_SIZE);
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        // .staging and .quarantine are managed elsewhere
+                        if (!entry.getFileName().toString().startsWith(".")) {
+                            pending.add(new DirectoryTask(entry, sweep).fork());
+                        }
+                    } else {
+                        batch.add(entry);
+                        if (batch.size() == BATCH_SIZE) {
+                            pending.add(new FileBatchTask(batch, sweep).fork());
+                            batch = new ArrayList<>(BATCH_SIZE);
+                        }
+                    }
+                    if (pending.size() >= MAX_PENDING_BATCHES) {
+                        pending.poll().join();
+                    }
+                }
+            } catch (IOException e) {
+                sweep.fail(directory, e);
+            }
+            new FileBatchTask(batch, sweep).invoke();
+            pending.forEach(ForkJoinTask::join);
+        }
+    }
+
+    private final class FileBatchTask extends RecursiveAction {
+
+        private final List<Path> files;
+        private final Sweep sweep;
+
+        FileBatchTask(List<Path> files, Sweep sweep) {
+            this.files = files;
+            this.sweep = sweep;
+        }
+
+        @Override
+        protected void compute() {
+            // stored path -> file, for the files the filter says are unreferenced
+            Map<String, Path> candidates = new HashMap<>();
+            Map<Path, Long> sizes = new HashMap<>();
+            for (Path file : files) {
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (!attrs.isRegularFile()) {
+                        continue;
+                    }
+                    sweep.scannedFiles.increment();
+                    sweep.scannedBytes.add(attrs.size());
+
+                    Path relative = sweep.root.relativize(file);
+                    if (attrs.lastModifiedTime().toInstant().isAfter(sweep.youngest)
+                            || sweep.referenced.mightContain(key(relative))) {
+                        continue;
+                    }
+                    candidates.put(fileStorageService.storedPathOf(key(relative)), file);
+                    sizes.put(file, attrs.size());
+                } catch (IOException e) {
+                    sweep.fail(file, e);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            // The filter is as of the sweep start; a photo committed since (e.g. a resumable
+            // upload whose last chunk is older than min-age) is referenced by now. One query per batch.
+            employeeRepository.findReferencedPhotographPaths(candidates.keySet()).forEach(candidates::remove);
+            for (Path file : candidates.values()) {
+                try {
+                    Path target = sweep.quarantineRun.resolve(sweep.root.relativize(file));
+                    Files.createDirectories(target.getParent());
+                    Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                    sweep.quarantinedFiles.increment();
+                    sweep.quarantinedBytes.add(sizes.get(file));
+                } catch (IOException e) {
+                    sweep.fail(file, e);
+                }
+            }
+        }
+    }
+
+    private final class Sweep {
+
+        final Path root;
+        final Path quarantineRun;
+        final Instant startedAt;
+        final Instant youngest;
+        PathBloomFilter referenced;
+        long referencedPaths;
+        final LongAdder scannedFiles = new LongAdder();
+        final LongAdder scannedBytes = new LongAdder();
+        final LongAdder quarantinedFiles = new LongAdder();
+        final LongAdder quarantinedBytes = new LongAdder();
+        final LongAdder restoredFiles = new LongAdder();
+        final LongAdder reclaimedFiles = new LongAdder();
+        final LongAdder reclaimedBytes = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        Sweep(Path root, Instant startedAt) {
+            this.root = root;
+            this.startedAt = startedAt;
+            this.youngest = startedAt.minus(minAge);
+            this.quarantineRun = root.resolve(QUARANTINE_DIR).resolve(Long.toString(startedAt.toEpochMilli()));
+        }
+
+        void fail(Path path, IOException e) {
+            errors.increment();
+            log.warn("Photo sweep could not process {}: {}", path, e.toString());
+        }
+
+        SweepReport report() {
+            return new SweepReport(startedAt, Duration.between(startedAt, Instant.now()).toMillis(), referencedPaths,
+                    scannedFiles.sum(), scannedBytes.sum(), quarantinedFiles.sum(), quarantinedBytes.sum(),
+                    restoredFiles.sum(), reclaimedFiles.sum(), reclaimedBytes.sum(), errors.sum());
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.dto.FacultyResponse;
+import com.esdproject.facultyupdate.dto.PhotoUploadRequest;
+import com.esdproject.facultyupdate.dto.PhotoUploadStatus;
+import com.esdproject.facultyupdate.exception.ConflictException;
+import com.esdproject.facultyupdate.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumable, chunked photo uploads.
+ *
+ * An upload is created with the final size (and optionally a SHA-256), then filled by
+ * chunks that each start at the current offset and are written into a staged file with
+ * positional FileChannel writes. The offset is the staged file's length, so a client
+ * that lost its connection asks for it and carries on from there, even across restarts.
+ * The photo only reaches Employee.photographPath once the upload is completed and the
+ * size, checksum and image signature have been verified.
+ */
+@Slf4j
+@Service
+public class PhotoUploadService {
+
+    private static final Set<String> ALLOWED_EXTENSIONS = Set.of(".jpg", ".jpeg", ".png", ".gif", ".webp");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PART_SUFFIX = ".part";
+    private static final String META_SUFFIX = ".json";
+
+    private final FileStorageService fileStorageService;
+    private final PhotoPromotionService photoPromotionService;
+    private final FacultyService facultyService;
+    private final AuthenticationService authenticationService;
+    private final ObjectMapper objectMapper;
+    private final long maxPhotoSize;
+    private final Duration stagingTtl;
+    private final ConcurrentHashMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "photo-upload-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Stored next to the staged bytes as &lt;uploadId&gt;.json
+     */
+    record UploadSession(String uploadId, String ownerEmail, String employeeId, String extension,
+                         long size, String sha256, Instant createdAt) {
+    }
+
+    public PhotoUploadService(FileStorageService fileStorageService,
+                              PhotoPromotionService photoPromotionService,
+                              FacultyService facultyService,
+                              AuthenticationService authenticationService,
+                              ObjectMapper objectMapper,
+                              @Value("${app.upload.max-photo-size:10485760}") long maxPhotoSize,
+                              @Value("${app.upload.staging-ttl:24h}") Duration stagingTtl) {
+        this.fileStorageService = fileStorageService;
+        this.photoPromotionService = photoPromotionService;
+        this.facultyService = facultyService;
+        this.authenticationService = authenticationService;
+        this.objectMapper = objectMapper;
+        this.maxPhotoSize = maxPhotoSize;
+        this.stagingTtl = stagingTtl;
+    }
+
+    @PostConstruct
+    public void start() {
+        cleaner.scheduleWithFixedDelay(this::removeExpiredUploads, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        cleaner.shutdownNow();
+    }
+
+    /**
+     * Starts an upload for the current faculty member
+     * @return Status with offset 0
+     * @throws IllegalArgumentException if the file type or size is not accepted
+     */
+    public PhotoUploadStatus create(PhotoUploadRequest request) {
+        String extension = extensionOf(request.getFilename());
+        if (!ALLOWED_EXTENSIONS.contains(extension)) {
+            throw new IllegalArgumentException("Unsupported photo type. Allowed: " + ALLOWED_EXTENSIONS);
+        }
+        if (request.getSize() > maxPhotoSize) {
+            throw new IllegalArgumentException("Photo is larger than the " + maxPhotoSize + " byte limit");
+        }
+
+        FacultyResponse profile = facultyService.getCurrentFacultyProfile(false);
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(),
+                authenticationService.getCurrentUserEmail(), profile.getEmployeeId(), extension,
+                request.getSize(), request.getSha256() == null ? null : request.getSha256().toLowerCase(Locale.ROOT),
+                Instant.now());
+        try {
+            Files.createFile(partFile(session.uploadId()));
+            objectMapper.writeValue(metaFile(session.uploadId()).toFile(), session);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not stage upload", e);
+        }
+        return toStatus(session, 0, null);
+    }
+
+    /**
+     * @return Status of one of the current user's uploads; offset is where the next chunk starts
+     */
+    public PhotoUploadStatus status(String uploadId) {
+        UploadSession session = load(uploadId);
+        return toStatus(session, receivedBytes(uploadId), null);
+    }
+
+    /**
+     * Writes a chunk starting at offset. Chunks of one upload are applied one at a time;
+     * a chunk arriving while another is still being written is rejected.
+     * @throws ConflictException if offset is not the number of bytes received so far
+     */
+    public PhotoUploadStatus append(String uploadId, long offset, InputStream body) {
+        UploadSession session = load(uploadId);
+        ReentrantLock lock = locks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new ConflictException("Another chunk of this upload is still being written");
+        }
+        try (FileChannel channel = FileChannel.open(partFile(uploadId), StandardOpenOption.WRITE)) {
+            long position = channel.size();
+            if (offset != position) {
+                throw new ConflictException("Upload-Offset " + offset + " does not match the "
+                        + position + " bytes received so far");
+            }
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                if (position + read > session.size()) {
+                    throw new IllegalArgumentException("Chunk runs past the declared size of " + session.size() + " bytes");
+                }
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    position += channel.write(chunk, position);
+                }
+            }
+            // The offset we report must survive a crash, or the client would skip bytes
+            channel.force(false);
+            return toStatus(session, position, null);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write chunk", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Verifies the staged file and makes it the current faculty member's photograph
+     * @throws ConflictException if not all bytes have been received yet
+     * @throws IllegalArgumentException if the checksum or image signature is wrong (the upload is discarded)
+     */
+    public PhotoUploadStatus complete(String uploadId) {
+        UploadSession session = load(uploadId);
+        ReentrantLock lock = locks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new ConflictException("A chunk of this upload is still being written");
+        }
+        try {
+            Path staged = partFile(uploadId);
+            long received = receivedBytes(uploadId);
+            if (received != session.size()) {
+                throw new ConflictException("Upload incomplete: " + received + " of " + session.size() + " bytes received");
+            }
+            if (session.sha256() != null && !session.sha256().equals(sha256Of(staged))) {
+                discard(uploadId);
+                throw new IllegalArgumentException("Checksum mismatch, upload discarded");
+            }
+            if (!hasImageSignature(staged, session.extension())) {
+                discard(uploadId);
+                throw new IllegalArgumentException("File is not a valid " + session.extension() + " image, upload discarded");
+            }
+
+            // Only the path is committed; the file is moved into place after the commit.
+            // The upload is kept until then, so a failed commit can be completed again.
+            String photographPath = photoPromotionService.stage(staged, session.employeeId(), session.extension());
+            try {
+                facultyService.updateCurrentFacultyPhoto(photographPath);
+            } catch (RuntimeException e) {
+                photoPromotionService.discard(photographPath);
+                throw e;
+            }
+            discard(uploadId);
+            return toStatus(session, received, photographPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not complete upload", e);
+        } finally {
+            lock.unlock();
+            locks.remove(uploadId, lock);
+        }
+    }
+
+    /**
+     * Abandons one of the current user's uploads and removes the staged bytes
+     */
+    public void cancel(String uploadId) {
+        load(uploadId);
+        discard(uploadId);
+    }
+
+    private UploadSession load(String uploadId) {
+        try {
+            UUID.fromString(uploadId);
+        } catch (IllegalArgumentException e) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        }
+        UploadSession session;
+        try {
+            session = objectMapper.readValue(metaFile(uploadId).toFile(), UploadSession.class);
+        } catch (IOException e) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        }
+        // Someone else's upload is reported the same as a missing one
+        if (!session.ownerEmail().equals(authenticationService.getCurrentUserEmail())) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        }
+        return session;
+    }
+
+    private long receivedBytes(String uploadId) {
+        try {
+            return Files.size(partFile(uploadId));
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void discard(String uploadId) {
+        try {
+            Files.deleteIfExists(partFile(uploadId));
+            Files.deleteIfExists(metaFile(uploadId));
+        } catch (IOException e) {
+            log.warn("Could not remove staged upload {}", uploadId, e);
+        }
+        locks.remove(uploadId);
+    }
+
+    private void removeExpiredUploads() {
+        Instant cutoff = Instant.now().minus(stagingTtl);
+        try (DirectoryStream<Path> staged = Files.newDirectoryStream(fileStorageService.getStagingDirectory())) {
+            for (Path file : staged) {
+                // Photos waiting for promotion belong to PhotoPromotionService
+                if (file.getFileName().toString().endsWith(".pending")) {
+                    continue;
+                }
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                    // Abandoned uploads never reach complete() or cancel(), which drop their lock
+                    String name = file.getFileName().toString();
+                    String uploadId = name.substring(0, Math.max(0, name.lastIndexOf('.')));
+                    locks.computeIfPresent(uploadId, (id, lock) -> lock.isLocked() ? lock : null);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Staged upload cleanup failed", e);
+        }
+    }
+
+    private String sha256Of(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static boolean hasImageSignature(Path file, String extension) throws IOException {
+        byte[] head = new byte[12];
+        int length;
+        try (InputStream in = Files.newInputStream(file)) {
+            length = in.readNBytes(head, 0, head.length);
+        }
+        return switch (extension) {
+            case ".jpg", ".jpeg" -> length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF;
+            case ".png" -> length >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G';
+            case ".gif" -> length >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8';
+            case ".webp" -> length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                    && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P';
+            default -> false;
+        };
+    }
+
+    private static String extensionOf(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return dot < 0 ? "" : filename.substring(dot).toLowerCase(Locale.ROOT);
+    }
+
+    private Path partFile(String uploadId) {
+        return stagingFile(uploadId + PART_SUFFIX);
+    }
+
+    private Path metaFile(String uploadId) {
+        return stagingFile(uploadId + META_SUFFIX);
+    }
+
+    private Path stagingFile(String name) {
+        try {
+            return fileStorageService.getStagingDirectory().resolve(name);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static PhotoUploadStatus toStatus(UploadSession session, long offset, String photographPath) {
+        return new PhotoUploadStatus(session.uploadId(), offset, session.size(), photographPath);
+    }
+}
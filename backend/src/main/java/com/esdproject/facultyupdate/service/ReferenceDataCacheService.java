@@ -0,0 +1,52 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.entity.Course;
+import com.esdproject.facultyupdate.entity.Department;
+import com.esdproject.facultyupdate.repository.CourseRepository;
+import com.esdproject.facultyupdate.repository.DepartmentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+
+/**
+ * Explicit eviction for the Department/Course second-level cache and the in-memory
+ * catalogs (ReferenceDataSnapshot), which re-read the affected rows.
+ * Writes made through the entities keep the cache up to date on their own;
+ * anything that changes these tables with bulk or native SQL must call this.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReferenceDataSnapshot referenceDataSnapshot;
+
+    public void evictCourses(Collection<Integer> courseIds) {
+        Cache cache = cache();
+        courseIds.forEach(id -> cache.evictEntityData(Course.class, id));
+        cache.evictQueryRegion(CourseRepository.QUERY_CACHE_REGION);
+        referenceDataSnapshot.refreshCourses(courseIds);
+    }
+
+    public void evictAllCourses() {
+        Cache cache = cache();
+        cache.evictEntityData(Course.class);
+        cache.evictQueryRegion(CourseRepository.QUERY_CACHE_REGION);
+        referenceDataSnapshot.verify();
+    }
+
+    public void evictAllDepartments() {
+        Cache cache = cache();
+        cache.evictEntityData(Department.class);
+        cache.evictQueryRegion(DepartmentRepository.QUERY_CACHE_REGION);
+        referenceDataSnapshot.verify();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,433 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.entity.Course;
+import com.esdproject.facultyupdate.entity.Department;
+import com.esdproject.facultyupdate.event.FacultyChangedEvent;
+import com.esdproject.facultyupdate.event.RemoteFacultyChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * The course and department catalogs, served from memory and persisted as a compact
+ * binary snapshot file so a restarted node does not have to load them from the database.
+ *
+ * At startup the snapshot is memory-mapped and read, and the catalogs are available
+ * before the first request. A background check then reads both tables once, replaces
+ * only the rows that differ and rewrites the file with the next version; the same check
+ * runs every verify-interval to pick up edits made elsewhere. Without a usable snapshot
+ * (first start, other format, checksum mismatch) the catalogs are loaded from the
+ * database right away. Courses touched by a committed faculty change, and anything
+ * passed to ReferenceDataCacheService, are re-read by id.
+ *
+ * The returned entities are shared and must not be modified.
+ */
+@Slf4j
+@Service
+public class ReferenceDataSnapshot {
+
+    private static final int MAGIC = 0x52445331;  // "RDS1"
+    private static final short FORMAT = 1;
+
+    private static final String SELECT_DEPARTMENTS =
+            "SELECT department_id, name, capacity FROM departments";
+    private static final String SELECT_COURSES =
+            "SELECT course_id, course_code, name, description, year, term, faculty, credits, capacity FROM courses";
+
+    private static final RowMapper<Department> DEPARTMENT_ROW = (rs, rowNum) -> new Department(
+            rs.getInt("department_id"), rs.getString("name"), nullableInt(rs, "capacity"));
+    private static final RowMapper<Course> COURSE_ROW = (rs, rowNum) -> new Course(
+            rs.getInt("course_id"), rs.getString("course_code"), rs.getString("name"), rs.getString("description"),
+            nullableInt(rs, "year"), rs.getString("term"), rs.getString("faculty"),
+            nullableInt(rs, "credits"), nullableInt(rs, "capacity"));
+
+    private record Catalog(long version, List<Department> departments, List<Course> courses) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final Path snapshotFile;
+    private final Duration verifyInterval;
+    private final Counter changedRows;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reference-data-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean writePending = new AtomicBoolean();
+
+    private final Object updateLock = new Object();
+    // Replaced under updateLock, read without it
+    private volatile Catalog catalog;
+    // Courses re-read while a full check is running; null when none is
+    private Set<Integer> refreshedDuringVerify;
+
+    public ReferenceDataSnapshot(JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.reference-data.snapshot-file:data/reference-data.snapshot}") Path snapshotFile,
+                                 @Value("${app.reference-data.verify-interval:10m}") Duration verifyInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.snapshotFile = snapshotFile.toAbsolutePath();
+        this.verifyInterval = verifyInterval;
+        this.changedRows = meterRegistry.counter("reference.snapshot.changed.rows");
+    }
+
+    @PostConstruct
+    public void start() {
+        Catalog loaded = readSnapshot();
+        if (loaded != null) {
+            catalog = loaded;
+            log.info("Serving {} departments and {} courses from reference data snapshot v{}",
+                    loaded.departments().size(), loaded.courses().size(), loaded.version());
+            worker.execute(this::verifyQuietly);
+        } else {
+            catalog = new Catalog(1, loadDepartments(), loadCourses());
+            scheduleWrite();
+        }
+        worker.scheduleWithFixedDelay(this::verifyQuietly,
+                verifyInterval.toMillis(), verifyInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    public List<Course> getCourses() {
+        return catalog.courses();
+    }
+
+    public List<Department> getDepartments() {
+        return catalog.departments();
+    }
+
+    /**
+     * Compares both catalogs with the database and applies only the rows that differ
+     * @return Number of departments and courses added, changed or removed
+     */
+    public int verify() {
+        synchronized (updateLock) {
+            refreshedDuringVerify = new HashSet<>();
+        }
+        List<Department> departments;
+        List<Course> courses;
+        try {
+            departments = loadDepartments();
+            courses = loadCourses();
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                refreshedDuringVerify = null;
+            }
+            throw e;
+        }
+
+        synchronized (updateLock) {
+            Catalog current = catalog;
+            Map<Integer, Course> fresh = byId(courses, Course::getCourseId);
+            // Rows re-read since this check started are newer in memory than in what was read
+            Map<Integer, Course> live = byId(current.courses(), Course::getCourseId);
+            for (Integer courseId : refreshedDuringVerify) {
+                fresh.remove(courseId);
+                if (live.containsKey(courseId)) {
+                    fresh.put(courseId, live.get(courseId));
+                }
+            }
+            refreshedDuringVerify = null;
+
+            Map<Integer, Department> liveDepartments = byId(current.departments(), Department::getDepartmentId);
+            Map<Integer, Department> freshDepartments = byId(departments, Department::getDepartmentId);
+            int changed = keepUnchanged(liveDepartments, freshDepartments) + keepUnchanged(live, fresh);
+            if (changed > 0) {
+                changedRows.increment(changed);
+                catalog = new Catalog(current.version() + 1, List.copyOf(freshDepartments.values()),
+                        List.copyOf(fresh.values()));
+                log.info("Reference data snapshot refreshed to v{}: {} rows changed", current.version() + 1, changed);
+                scheduleWrite();
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * Re-reads the given courses from the database
+     */
+    public void refreshCourses(Collection<Integer> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        synchronized (updateLock) {
+            // Read under the lock, so concurrent refreshes apply in the order they read and
+            // one holding older rows can never overwrite a newer one. It is a short keyed read,
+            // and readers never take the lock
+            List<Course> rows = namedJdbcTemplate.query(SELECT_COURSES + " WHERE course_id IN (:ids)",
+                    Map.of("ids", courseIds), COURSE_ROW);
+            Catalog current = catalog;
+            if (refreshedDuringVerify != null) {
+                refreshedDuringVerify.addAll(courseIds);
+            }
+            Map<Integer, Course> courses = byId(current.courses(), Course::getCourseId);
+            Map<Integer, Course> refreshed = new TreeMap<>(courses);
+            courseIds.forEach(refreshed::remove);
+            rows.forEach(course -> refreshed.put(course.getCourseId(), course));
+            if (keepUnchanged(courses, refreshed) == 0) {
+                return;
+            }
+            catalog = new Catalog(current.version() + 1, current.departments(), List.copyOf(refreshed.values()));
+        }
+        scheduleWrite();
+    }
+
+    /**
+     * Course.faculty is written along with the assignments
+     */
+    @TransactionalEventListener
+    public void onFacultyChanged(FacultyChangedEvent event) {
+        Set<Integer> touched = new HashSet<>();
+        if (event.getBefore() != null) {
+            touched.addAll(event.getBefore().getCourseIds());
+        }
+        if (event.getAfter() != null) {
+            touched.addAll(event.getAfter().getCourseIds());
+        }
+        refreshCourses(touched);
+    }
+
+    /**
+     * Course.faculty written by another instance
+     */
+    @EventListener
+    public void onRemoteFacultyChanged(RemoteFacultyChangedEvent event) {
+        onFacultyChanged(event.getChange());
+    }
+
+    private void verifyQuietly() {
+        try {
+            verify();
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel the schedule
+            log.error("Reference data snapshot check failed", e);
+        }
+    }
+
+    private List<Department> loadDepartments() {
+        return List.copyOf(jdbcTemplate.query(SELECT_DEPARTMENTS + " ORDER BY department_id", DEPARTMENT_ROW));
+    }
+
+    private List<Course> loadCourses() {
+        return List.copyOf(jdbcTemplate.query(SELECT_COURSES + " ORDER BY course_id", COURSE_ROW));
+    }
+
+    // Bursts of changes are written once
+    private void scheduleWrite() {
+        if (writePending.compareAndSet(false, true)) {
+            worker.schedule(() -> {
+                writePending.set(false);
+                writeSnapshot(catalog);
+            }, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    private void writeSnapshot(Catalog snapshot) {
+        try {
+            byte[] body = encode(snapshot);
+            Files.createDirectories(snapshotFile.getParent());
+            Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, body.length);
+                buffer.put(body);
+                buffer.force();
+            }
+            // Readers only ever see a complete file
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote reference data snapshot v{} ({} bytes)", snapshot.version(), body.length);
+        } catch (IOException e) {
+            log.warn("Could not write the reference data snapshot to {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private Catalog readSnapshot() {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        } catch (NoSuchFileException e) {
+            log.info("No reference data snapshot at {}, loading the catalogs from the database", snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable reference data snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+        return null;
+    }
+
+    /*
+     * Layout, big-endian: magic, format (short), version (long), written-at millis (long),
+     * department count, course count, the records, then a CRC32 of everything before it.
+     * Strings are a byte length (-1 for null) and UTF-8; nullable ints a presence byte.
+     */
+    private static byte[] encode(Catalog snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT);
+        out.writeLong(snapshot.version());
+        out.writeLong(Instant.now().toEpochMilli());
+        out.writeInt(snapshot.departments().size());
+        out.writeInt(snapshot.courses().size());
+        for (Department department : snapshot.departments()) {
+            out.writeInt(department.getDepartmentId());
+            writeString(out, department.getName());
+            writeNullableInt(out, department.getCapacity());
+        }
+        for (Course course : snapshot.courses()) {
+            out.writeInt(course.getCourseId());
+            writeString(out, course.getCourseCode());
+            writeString(out, course.getName());
+            writeString(out, course.getDescription());
+            writeNullableInt(out, course.getYear());
+            writeString(out, course.getTerm());
+            writeString(out, course.getFaculty());
+            writeNullableInt(out, course.getCredits());
+            writeNullableInt(out, course.getCapacity());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Catalog decode(ByteBuffer buffer) {
+        try {
+            if (buffer.remaining() < Integer.BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IllegalStateException("not a reference data snapshot");
+            }
+            int bodyLength = buffer.limit() - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(bodyLength));
+            if ((int) crc.getValue() != buffer.getInt(bodyLength)) {
+                throw new IllegalStateException("checksum mismatch");
+            }
+
+            buffer.position(Integer.BYTES);
+            short format = buffer.getShort();
+            if (format != FORMAT) {
+                throw new IllegalStateException("format " + format + " instead of " + FORMAT);
+            }
+            long version = buffer.getLong();
+            buffer.getLong();  // written at
+            Department[] departments = new Department[buffer.getInt()];
+            Course[] courses = new Course[buffer.getInt()];
+            for (int i = 0; i < departments.length; i++) {
+                departments[i] = new Department(buffer.getInt(), readString(buffer), readNullableInt(buffer));
+            }
+            for (int i = 0; i < courses.length; i++) {
+                courses[i] = new Course(buffer.getInt(), readString(buffer), readString(buffer), readString(buffer),
+                        readNullableInt(buffer), readString(buffer), readString(buffer),
+                        readNullableInt(buffer), readNullableInt(buffer));
+            }
+            return new Catalog(version, List.of(departments), List.of(courses));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalStateException("truncated", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeNullableInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        out.writeInt(value == null ? 0 : value);
+    }
+
+    private static Integer readNullableInt(ByteBuffer buffer) {
+        boolean present = buffer.get() != 0;
+        int value = buffer.getInt();
+        return present ? value : null;
+    }
+
+    private static Integer nullableInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static <T> Map<Integer, T> byId(List<T> rows, Function<T, Integer> id) {
+        return rows.stream().collect(Collectors.toMap(id, Function.identity(), (a, b) -> b, TreeMap::new));
+    }
+
+    // Puts the current instance back for every row that did not change; returns how many did
+    private static <T> int keepUnchanged(Map<Integer, T> current, Map<Integer, T> fresh) {
+        int differences = 0;
+        for (Map.Entry<Integer, T> row : fresh.entrySet()) {
+            T existing = current.get(row.getKey());
+            if (Objects.equals(existing, row.getValue())) {
+                row.setValue(existing);
+            } else {
+                differences++;
+            }
+        }
+        for (Integer id : current.keySet()) {
+            if (!fresh.containsKey(id)) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+}
@@ -0,0 +1,88 @@
+package com.esdproject.facultyupdate.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Request coalescing: concurrent calls with the same key share one load and its result
+ * (or exception). The first caller runs the loader on its own thread; the others wait
+ * for it up to the configured limit and then load on their own.
+ *
+ * Use it outside the service transaction (i.e. from controllers) so waiting callers
+ * do not hold a database connection. Results are shared instances and must not be modified.
+ */
+@Slf4j
+@Service
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long waitTimeoutMillis;
+    private final Counter sharedCalls;
+    private final Counter timedOutCalls;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${app.single-flight.wait-timeout:5s}") Duration waitTimeout) {
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.sharedCalls = meterRegistry.counter("single.flight.calls", "outcome", "shared");
+        this.timedOutCalls = meterRegistry.counter("single.flight.calls", "outcome", "timed_out");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, load);
+        if (existing == null) {
+            try {
+                T result = loader.get();
+                load.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                load.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, load);
+            }
+        }
+
+        try {
+            T result = (T) existing.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            sharedCalls.increment();
+            return result;
+        } catch (ExecutionException e) {
+            sharedCalls.increment();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            timedOutCalls.increment();
+            log.debug("Gave up waiting for in-flight load of {}", key);
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loader.get();
+        }
+    }
+
+    /**
+     * Makes the next call for the key start a fresh load instead of joining one that
+     * began before a write.
+     */
+    public void forget(String key) {
+        inFlight.remove(key);
+    }
+}
@@ -0,0 +1,301 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.dto.TeachingLoad;
+import com.esdproject.facultyupdate.entity.Course;
+import com.esdproject.facultyupdate.event.FacultyChangedEvent;
+import com.esdproject.facultyupdate.event.RemoteFacultyChangedEvent;
+import com.esdproject.facultyupdate.event.FacultySnapshot;
+import com.esdproject.facultyupdate.repository.FacultyCourseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Teaching load (total Course.credits and number of courses) per faculty member and
+ * per department, broken down by term and year.
+ *
+ * The aggregates are built once from the assignments and then adjusted after each
+ * committed FacultyChangedEvent by the courses that were added and removed, so a
+ * change costs as much as the courses it touches. Each faculty member's last known
+ * assignment is kept, which makes applying an event idempotent. A periodic full
+ * recompute from the database logs and counts any drift (teaching.load.drift) and
+ * replaces the aggregates; faculty changed while it was reading keep their live state.
+ * Reads are a single map lookup.
+ */
+@Slf4j
+@Service
+public class TeachingLoadAggregates {
+
+    private static final Comparator<TeachingLoad> TERM_ORDER = Comparator
+            .comparing(TeachingLoad::getYear, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TeachingLoad::getTerm, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final FacultyCourseRepository facultyCourseRepository;
+    private final CourseService courseService;
+    private final Duration recomputeInterval;
+    private final Counter drift;
+    private final ScheduledExecutorService recomputer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "teaching-load-recompute");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record Assignment(Integer departmentId, Set<Integer> courseIds) {
+    }
+
+    private record TermKey(String term, Integer year) {
+    }
+
+    private final Object updateLock = new Object();
+    // Guarded by updateLock
+    private Map<Integer, Assignment> assignments = new HashMap<>();
+    // Faculty changed while a recompute is reading; null when none is running
+    private Set<Integer> changedDuringRecompute;
+
+    // Replaced per owner under updateLock; the inner maps are never modified
+    private final ConcurrentHashMap<Integer, Map<TermKey, TeachingLoad>> byFaculty = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Map<TermKey, TeachingLoad>> byDepartment = new ConcurrentHashMap<>();
+
+    public TeachingLoadAggregates(FacultyCourseRepository facultyCourseRepository,
+                                  CourseService courseService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.teaching-load.recompute-interval:1h}") Duration recomputeInterval) {
+        this.facultyCourseRepository = facultyCourseRepository;
+        this.courseService = courseService;
+        this.recomputeInterval = recomputeInterval;
+        this.drift = meterRegistry.counter("teaching.load.drift");
+    }
+
+    @PostConstruct
+    public void start() {
+        recompute();
+        recomputer.scheduleWithFixedDelay(this::recomputeQuietly,
+                recomputeInterval.toMillis(), recomputeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        recomputer.shutdownNow();
+    }
+
+    /**
+     * @return Load of one faculty member per term, oldest first (empty if they teach nothing)
+     */
+    public List<TeachingLoad> getFacultyLoad(Integer facultyId) {
+        return sorted(byFaculty.get(facultyId));
+    }
+
+    /**
+     * @return Load of one department per term, oldest first
+     */
+    public List<TeachingLoad> getDepartmentLoad(Integer departmentId) {
+        return sorted(byDepartment.get(departmentId));
+    }
+
+    @TransactionalEventListener
+    public void onFacultyChanged(FacultyChangedEvent event) {
+        FacultySnapshot after = event.getAfter();
+        Assignment next = after == null ? null : new Assignment(after.getDepartmentId(), after.getCourseIds());
+        // In memory (ReferenceDataSnapshot), taken before the lock so no query runs under it
+        List<Course> courses = courseService.getAllCourses();
+        synchronized (updateLock) {
+            Assignment previous = assignments.get(event.getFacultyId());
+            Set<Integer> touched = new HashSet<>();
+            if (previous != null) {
+                touched.addAll(previous.courseIds());
+            }
+            if (next != null) {
+                touched.addAll(next.courseIds());
+            }
+            apply(event.getFacultyId(), previous, next, catalog(courses, touched));
+            if (changedDuringRecompute != null) {
+                changedDuringRecompute.add(event.getFacultyId());
+            }
+        }
+    }
+
+    /**
+     * Assignments changed on another instance. Applying is idempotent, so events replayed
+     * by the change feed after a restart do no harm.
+     */
+    @EventListener
+    public void onRemoteFacultyChanged(RemoteFacultyChangedEvent event) {
+        onFacultyChanged(event.getChange());
+    }
+
+    /**
+     * Rebuilds every aggregate from faculty_courses, logging how far the incremental
+     * state had drifted
+     */
+    public void recompute() {
+        synchronized (updateLock) {
+            changedDuringRecompute = new HashSet<>();
+        }
+        Map<Integer, Assignment> loaded;
+        Map<Integer, Course> catalog;
+        try {
+            loaded = new HashMap<>();
+            for (FacultyCourseRepository.CourseAssignment row : facultyCourseRepository.findAllAssignments()) {
+                loaded.computeIfAbsent(row.getFacultyId(), id -> new Assignment(row.getDepartmentId(), new TreeSet<>()))
+                        .courseIds().add(row.getCourseId());
+            }
+            catalog = courseService.getAllCourses().stream()
+                    .collect(Collectors.toMap(Course::getCourseId, Function.identity()));
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                changedDuringRecompute = null;
+            }
+            throw e;
+        }
+
+        synchronized (updateLock) {
+            // Anything changed since the read started is newer in memory than in what was read
+            for (Integer facultyId : changedDuringRecompute) {
+                loaded.remove(facultyId);
+                Assignment live = assignments.get(facultyId);
+                if (live != null) {
+                    loaded.put(facultyId, live);
+                }
+            }
+            changedDuringRecompute = null;
+
+            Map<Integer, Map<TermKey, TeachingLoad>> facultyTotals = new HashMap<>();
+            Map<Integer, Map<TermKey, TeachingLoad>> departmentTotals = new HashMap<>();
+            loaded.forEach((facultyId, assignment) -> {
+                add(facultyTotals, facultyId, assignment.courseIds(), 1, catalog);
+                add(departmentTotals, assignment.departmentId(), assignment.courseIds(), 1, catalog);
+            });
+
+            int drifted = countDifferences(byFaculty, facultyTotals) + countDifferences(byDepartment, departmentTotals);
+            boolean initial = assignments.isEmpty() && byFaculty.isEmpty();
+            if (drifted > 0 && !initial) {
+                drift.increment(drifted);
+                log.warn("Teaching load aggregates had drifted: {} faculty/department totals corrected", drifted);
+            }
+
+            assignments = loaded;
+            byFaculty.clear();
+            byFaculty.putAll(facultyTotals);
+            byDepartment.clear();
+            byDepartment.putAll(departmentTotals);
+            log.info("Teaching load aggregates recomputed for {} faculty members and {} departments",
+                    byFaculty.size(), byDepartment.size());
+        }
+    }
+
+    private void recomputeQuietly() {
+        try {
+            recompute();
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel the schedule
+            log.error("Teaching load recompute failed", e);
+        }
+    }
+
+    private static Map<Integer, Course> catalog(List<Course> courses, Set<Integer> courseIds) {
+        if (courseIds.isEmpty()) {
+            return Map.of();
+        }
+        return courses.stream()
+                .filter(course -> courseIds.contains(course.getCourseId()))
+                .collect(Collectors.toMap(Course::getCourseId, Function.identity()));
+    }
+
+    // Caller holds updateLock
+    private void apply(Integer facultyId, Assignment previous, Assignment next, Map<Integer, Course> catalog) {
+        Set<Integer> before = previous == null ? Set.of() : previous.courseIds();
+        Set<Integer> after = next == null ? Set.of() : next.courseIds();
+        Set<Integer> removed = new HashSet<>(before);
+        removed.removeAll(after);
+        Set<Integer> added = new HashSet<>(after);
+        added.removeAll(before);
+
+        add(byFaculty, facultyId, removed, -1, catalog);
+        add(byFaculty, facultyId, added, 1, catalog);
+
+        Integer previousDepartment = previous == null ? null : previous.departmentId();
+        Integer nextDepartment = next == null ? null : next.departmentId();
+        if (Objects.equals(previousDepartment, nextDepartment)) {
+            add(byDepartment, nextDepartment, removed, -1, catalog);
+            add(byDepartment, nextDepartment, added, 1, catalog);
+        } else {
+            // Moving department takes the whole load along
+            add(byDepartment, previousDepartment, before, -1, catalog);
+            add(byDepartment, nextDepartment, after, 1, catalog);
+        }
+
+        if (next == null || next.courseIds().isEmpty()) {
+            assignments.remove(facultyId);
+        } else {
+            assignments.put(facultyId, next);
+        }
+    }
+
+    private static void add(Map<Integer, Map<TermKey, TeachingLoad>> totals, Integer ownerId,
+                            Collection<Integer> courseIds, int sign, Map<Integer, Course> catalog) {
+        if (ownerId == null || courseIds.isEmpty()) {
+            return;
+        }
+        Map<TermKey, TeachingLoad> loads = new HashMap<>(totals.getOrDefault(ownerId, Map.of()));
+        for (Integer courseId : courseIds) {
+            Course course = catalog.get(courseId);
+            if (course == null) {
+                continue;
+            }
+            TermKey key = new TermKey(course.getTerm(), course.getYear());
+            TeachingLoad current = loads.getOrDefault(key, new TeachingLoad(course.getTerm(), course.getYear(), 0, 0));
+            int credits = current.getCredits() + sign * (course.getCredits() == null ? 0 : course.getCredits());
+            int courses = current.getCourses() + sign;
+            if (courses <= 0) {
+                loads.remove(key);
+            } else {
+                loads.put(key, new TeachingLoad(course.getTerm(), course.getYear(), credits, courses));
+            }
+        }
+        if (loads.isEmpty()) {
+            totals.remove(ownerId);
+        } else {
+            totals.put(ownerId, Map.copyOf(loads));
+        }
+    }
+
+    private static int countDifferences(Map<Integer, Map<TermKey, TeachingLoad>> live,
+                                        Map<Integer, Map<TermKey, TeachingLoad>> recomputed) {
+        Set<Integer> owners = new HashSet<>(live.keySet());
+        owners.addAll(recomputed.keySet());
+        int differences = 0;
+        for (Integer owner : owners) {
+            if (!Objects.equals(live.get(owner), recomputed.get(owner))) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+
+    private static List<TeachingLoad> sorted(Map<TermKey, TeachingLoad> loads) {
+        return loads == null ? List.of() : loads.values().stream().sorted(TERM_ORDER).toList();
+    }
+}
@@ -0,0 +1,369 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.dto.TermRolloverRequest;
+import com.esdproject.facultyupdate.entity.TermRolloverJob;
+import com.esdproject.facultyupdate.event.FacultyChangedEvent;
+import com.esdproject.facultyupdate.event.FacultySnapshot;
+import com.esdproject.facultyupdate.exception.ConflictException;
+import com.esdproject.facultyupdate.exception.ResourceNotFoundException;
+import com.esdproject.facultyupdate.exception.UnauthorizedAccessException;
+import com.esdproject.facultyupdate.repository.EmployeeRepository;
+import com.esdproject.facultyupdate.repository.TermRolloverJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-of-term rollover of course assignments as a chunked, restartable batch job.
+ *
+ * Courses of the term are walked by id in chunks. Each chunk is one short transaction
+ * of set-based statements: INSERT ... SELECT into faculty_course_history, and for
+ * RELEASE a DELETE of the assignments and an UPDATE clearing Course.faculty, followed
+ * by moving the job's checkpoint. A job is run by the node that holds its lease (a
+ * conditional UPDATE of owner), and each chunk first moves the checkpoint only if it is
+ * still where this node left it, so two nodes can never process the same chunk. A job
+ * interrupted by a restart, or whose node stopped renewing the lease, resumes after its
+ * last committed chunk; a failed one can be resumed on request. A chunk that releases
+ * assignments publishes one FacultyChangedEvent per faculty member losing courses, inside
+ * its transaction, so the releases reach the change outbox (and through it every other
+ * instance), the audit trail and this instance's in-memory views like any profile edit.
+ * Course ownership and the course cache are updated here once the chunk has committed.
+ */
+@Slf4j
+@Service
+public class TermRolloverService {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final List<TermRolloverJob.Status> ACTIVE =
+            List.of(TermRolloverJob.Status.PENDING, TermRolloverJob.Status.RUNNING);
+
+    private final TermRolloverJobRepository termRolloverJobRepository;
+    private final EmployeeRepository employeeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuthenticationService authenticationService;
+    private final CourseOwnershipRegistry courseOwnershipRegistry;
+    private final ReferenceDataCacheService referenceDataCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Duration chunkPause;
+    private final Duration lease;
+    private final String owner = UUID.randomUUID().toString();
+    private final ScheduledExecutorService runner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "term-rollover");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record Chunk(List<Integer> courseIds, Map<Integer, List<Integer>> releasedByFaculty) {
+    }
+
+    // Another node has taken the job over; the chunk is rolled back
+    private static final class LeaseLostException extends RuntimeException {
+        LeaseLostException(Long jobId) {
+            super("Term rollover job " + jobId + " is owned by another node", null, false, false);
+        }
+    }
+
+    public TermRolloverService(TermRolloverJobRepository termRolloverJobRepository,
+                               EmployeeRepository employeeRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               AuthenticationService authenticationService,
+                               CourseOwnershipRegistry courseOwnershipRegistry,
+                               ReferenceDataCacheService referenceDataCacheService,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${app.rollover.chunk-size:100}") int chunkSize,
+                               @Value("${app.rollover.chunk-pause:50ms}") Duration chunkPause,
+                               @Value("${app.rollover.lease:2m}") Duration lease) {
+        this.termRolloverJobRepository = termRolloverJobRepository;
+        this.employeeRepository = employeeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.authenticationService = authenticationService;
+        this.courseOwnershipRegistry = courseOwnershipRegistry;
+        this.referenceDataCacheService = referenceDataCacheService;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
+        this.lease = lease;
+    }
+
+    /**
+     * Jobs cut off by a shutdown, or left behind by a node that stopped renewing their
+     * lease, carry on from their checkpoint. Checked at startup and once per lease.
+     */
+    @PostConstruct
+    public void resumeInterrupted() {
+        runner.scheduleWithFixedDelay(this::runUnclaimed, 0, lease.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        runner.shutdownNow();
+    }
+
+    /**
+     * Creates a rollover job and starts it in the background
+     * @throws UnauthorizedAccessException if the current user is not an administrator
+     * @throws ConflictException if another rollover job has not finished
+     */
+    public TermRolloverJob start(TermRolloverRequest request) {
+        requireAdmin();
+        String createdBy = authenticationService.getCurrentActor();
+        TermRolloverJob job = transactionTemplate.execute(status -> {
+            requireNoActiveJob();
+
+            List<Object> args = new ArrayList<>();
+            String filter = courseFilter(request.getTerm(), request.getYear(), args);
+            Integer totalCourses = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM courses c WHERE " + filter,
+                    Integer.class, args.toArray());
+
+            Instant now = Instant.now();
+            return termRolloverJobRepository.save(new TermRolloverJob(null, request.getTerm(),
+                    request.getYear(), request.getMode(), TermRolloverJob.Status.PENDING, 0, totalCourses, 0, 0, 0,
+                    null, createdBy, now, now));
+        });
+        runner.execute(() -> run(job.getId()));
+        return job;
+    }
+
+    /**
+     * Restarts a failed job from its checkpoint
+     */
+    public TermRolloverJob resume(Long jobId) {
+        requireAdmin();
+        transactionTemplate.executeWithoutResult(status -> {
+            requireNoActiveJob();
+            TermRolloverJob job = getJob(jobId);
+            if (job.getStatus() != TermRolloverJob.Status.FAILED) {
+                throw new ConflictException("Only failed jobs can be resumed; job " + jobId + " is " + job.getStatus() + ".");
+            }
+            jdbcTemplate.update("UPDATE term_rollover_jobs SET status = ?, error = NULL, owner = NULL, lease_until = NULL, "
+                    + "updated_at = ? WHERE id = ?", TermRolloverJob.Status.PENDING.name(), Timestamp.from(Instant.now()), jobId);
+        });
+        runner.execute(() -> run(jobId));
+        return getJob(jobId);
+    }
+
+    public TermRolloverJob get(Long jobId) {
+        requireAdmin();
+        return getJob(jobId);
+    }
+
+    public List<TermRolloverJob> list() {
+        requireAdmin();
+        return termRolloverJobRepository.findTop20ByOrderByIdDesc();
+    }
+
+    private void runUnclaimed() {
+        try {
+            termRolloverJobRepository.findByStatusInOrderByIdAsc(ACTIVE).forEach(job -> run(job.getId()));
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel the schedule
+            log.error("Looking for interrupted term rollover jobs failed", e);
+        }
+    }
+
+    // On the runner thread, so this node runs one job at a time
+    private void run(Long jobId) {
+        if (Thread.currentThread().isInterrupted() || !claim(jobId)) {
+            return;
+        }
+        TermRolloverJob job = getJob(jobId);
+        int lastCourseId = job.getLastCourseId();
+        if (lastCourseId > 0) {
+            log.info("Resuming term rollover job {} after course {}", jobId, lastCourseId);
+        }
+        try {
+            while (true) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                int after = lastCourseId;
+                Chunk chunk = transactionTemplate.execute(status -> processChunk(job, after));
+                if (chunk.courseIds().isEmpty()) {
+                    break;
+                }
+                lastCourseId = chunk.courseIds().get(chunk.courseIds().size() - 1);
+
+                // Committed: free the courses for new claims and drop the stale cache entries
+                chunk.releasedByFaculty().forEach(courseOwnershipRegistry::release);
+                referenceDataCacheService.evictCourses(chunk.courseIds());
+                Thread.sleep(chunkPause.toMillis());
+            }
+            setStatus(jobId, TermRolloverJob.Status.COMPLETED, null);
+            log.info("Term rollover job {} ({} {} {}) completed", jobId, job.getMode(), job.getTerm(),
+                    job.getYear() == null ? "all years" : job.getYear());
+        } catch (InterruptedException e) {
+            // Shutting down: the job stays RUNNING, free for the next node that looks
+            handBack(jobId);
+            Thread.currentThread().interrupt();
+        } catch (LeaseLostException e) {
+            log.warn("Term rollover job {} was taken over by another node after course {}", jobId, lastCourseId);
+        } catch (RuntimeException e) {
+            log.error("Term rollover job {} failed after course {}", jobId, lastCourseId, e);
+            setStatus(jobId, TermRolloverJob.Status.FAILED, String.valueOf(e.getMessage()));
+        }
+    }
+
+    // Runs in its own transaction
+    private Chunk processChunk(TermRolloverJob job, int afterCourseId) {
+        // Locks the job row, and only if this node still owns the job and nobody has moved
+        // the checkpoint past afterCourseId; otherwise the chunk is not ours to process
+        Instant now = Instant.now();
+        if (jdbcTemplate.update("UPDATE term_rollover_jobs SET lease_until = ?, updated_at = ? "
+                        + "WHERE id = ? AND owner = ? AND last_course_id = ?",
+                Timestamp.from(now.plus(lease)), Timestamp.from(now), job.getId(), owner, afterCourseId) == 0) {
+            throw new LeaseLostException(job.getId());
+        }
+
+        List<Object> filterArgs = new ArrayList<>();
+        String filter = courseFilter(job.getTerm(), job.getYear(), filterArgs);
+
+        List<Object> args = new ArrayList<>(filterArgs);
+        args.add(afterCourseId);
+        args.add(chunkSize);
+        List<Integer> courseIds = jdbcTemplate.queryForList(
+                "SELECT c.course_id FROM courses c WHERE " + filter + " AND c.course_id > ? ORDER BY c.course_id LIMIT ?",
+                Integer.class, args.toArray());
+        if (courseIds.isEmpty()) {
+            return new Chunk(List.of(), Map.of());
+        }
+
+        // The chunk as a course id range, so every statement is a range scan instead of an IN list
+        String range = filter + " AND c.course_id > ? AND c.course_id <= ?";
+        List<Object> rangeArgs = new ArrayList<>(filterArgs);
+        rangeArgs.add(afterCourseId);
+        rangeArgs.add(courseIds.get(courseIds.size() - 1));
+
+        List<Object> archiveArgs = new ArrayList<>(List.of(job.getId(), Timestamp.from(now)));
+        archiveArgs.addAll(rangeArgs);
+        int archived = jdbcTemplate.update(
+                "INSERT INTO faculty_course_history (job_id, faculty, course_id, term, year, archived_at) "
+                        + "SELECT ?, fc.faculty, fc.course_id, c.term, c.year, ? "
+                        + "FROM faculty_courses fc JOIN courses c ON c.course_id = fc.course_id WHERE " + range,
+                archiveArgs.toArray());
+
+        Map<Integer, List<Integer>> releasedByFaculty = new HashMap<>();
+        if (job.getMode() == TermRolloverJob.Mode.RELEASE) {
+            // Exactly the assignments archived above are removed and released; one made
+            // since is neither, so the registry never keeps an owner the table no longer has
+            String archivedHere = "SELECT h.faculty, h.course_id FROM faculty_course_history h "
+                    + "WHERE h.job_id = ? AND h.course_id > ? AND h.course_id <= ?";
+            Object[] archivedArgs = {job.getId(), afterCourseId, courseIds.get(courseIds.size() - 1)};
+            jdbcTemplate.query(archivedHere,
+                    rs -> {
+                        releasedByFaculty.computeIfAbsent(rs.getInt(1), id -> new ArrayList<>()).add(rs.getInt(2));
+                    }, archivedArgs);
+            List<FacultyChangedEvent> changes = releaseEvents(job, releasedByFaculty);
+            jdbcTemplate.update("DELETE FROM faculty_courses WHERE (faculty, course_id) IN (" + archivedHere + ")",
+                    archivedArgs);
+            jdbcTemplate.update("UPDATE courses c SET faculty = NULL WHERE " + range
+                    + " AND NOT EXISTS (SELECT 1 FROM faculty_courses fc WHERE fc.course_id = c.course_id)",
+                    rangeArgs.toArray());
+            changes.forEach(eventPublisher::publishEvent);
+        }
+        int released = releasedByFaculty.values().stream().mapToInt(Collection::size).sum();
+
+        jdbcTemplate.update("UPDATE term_rollover_jobs SET last_course_id = ?, "
+                        + "processed_courses = processed_courses + ?, archived_assignments = archived_assignments + ?, "
+                        + "released_assignments = released_assignments + ?, updated_at = ? WHERE id = ?",
+                courseIds.get(courseIds.size() - 1), courseIds.size(), archived, released, Timestamp.from(now), job.getId());
+        return new Chunk(courseIds, releasedByFaculty);
+    }
+
+    // Taken before the assignments are deleted, while the snapshots still hold them
+    private List<FacultyChangedEvent> releaseEvents(TermRolloverJob job, Map<Integer, List<Integer>> releasedByFaculty) {
+        if (releasedByFaculty.isEmpty()) {
+            return List.of();
+        }
+        String changedBy = "term-rollover:" + job.getId();
+        return employeeRepository.findAllWithDetailsByIdIn(releasedByFaculty.keySet()).stream()
+                .map(employee -> {
+                    FacultySnapshot before = FacultySnapshot.of(employee);
+                    return new FacultyChangedEvent(FacultyChangedEvent.ChangeType.UPDATED, before,
+                            before.withoutCourses(releasedByFaculty.get(employee.getId())), changedBy);
+                })
+                .toList();
+    }
+
+    private static String courseFilter(String term, Integer year, List<Object> args) {
+        args.add(term);
+        if (year == null) {
+            return "c.term = ?";
+        }
+        args.add(year);
+        return "c.term = ? AND c.year = ?";
+    }
+
+    /**
+     * Takes the job if it is active and nobody else holds a live lease on it
+     */
+    private boolean claim(Long jobId) {
+        Instant now = Instant.now();
+        return jdbcTemplate.update("UPDATE term_rollover_jobs SET owner = ?, lease_until = ?, status = ?, updated_at = ? "
+                        + "WHERE id = ? AND status IN (?, ?) AND (owner IS NULL OR owner = ? OR lease_until < ?)",
+                owner, Timestamp.from(now.plus(lease)), TermRolloverJob.Status.RUNNING.name(), Timestamp.from(now),
+                jobId, TermRolloverJob.Status.PENDING.name(), TermRolloverJob.Status.RUNNING.name(), owner,
+                Timestamp.from(now)) == 1;
+    }
+
+    private void handBack(Long jobId) {
+        try {
+            jdbcTemplate.update("UPDATE term_rollover_jobs SET owner = NULL, lease_until = NULL WHERE id = ? AND owner = ?",
+                    jobId, owner);
+        } catch (RuntimeException e) {
+            log.warn("Could not hand back term rollover job {}; it is resumed once its lease runs out", jobId, e);
+        }
+    }
+
+    // Only while this node still owns the job
+    private void setStatus(Long jobId, TermRolloverJob.Status status, String error) {
+        String trimmed = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        jdbcTemplate.update("UPDATE term_rollover_jobs SET status = ?, error = ?, updated_at = ? WHERE id = ? AND owner = ?",
+                status.name(), trimmed, Timestamp.from(Instant.now()), jobId, owner);
+    }
+
+    /**
+     * Locks the guard row for the rest of the transaction, so no other start or resume can
+     * activate a job between this check and the caller's write
+     * @throws ConflictException if a job is pending or running
+     */
+    private void requireNoActiveJob() {
+        jdbcTemplate.queryForObject("SELECT id FROM term_rollover_guard WHERE id = 1 FOR UPDATE", Integer.class);
+        if (!termRolloverJobRepository.findByStatusInOrderByIdAsc(ACTIVE).isEmpty()) {
+            throw new ConflictException("Another term rollover job is still running.");
+        }
+    }
+
+    private TermRolloverJob getJob(Long jobId) {
+        return termRolloverJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Rollover job not found with ID: " + jobId));
+    }
+
+    private void requireAdmin() {
+        if (!authenticationService.isCurrentUserAdmin()) {
+            throw new UnauthorizedAccessException("Term rollover is limited to administrators.");
+        }
+    }
+}
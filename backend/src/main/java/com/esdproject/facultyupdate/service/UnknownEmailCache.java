@@ -0,0 +1,163 @@
+package com.esdproject.facultyupdate.service;
+
+import com.esdproject.facultyupdate.event.FacultySnapshot;
+import com.esdproject.facultyupdate.event.RemoteFacultyChangedEvent;
+import com.esdproject.facultyupdate.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived negative cache of emails that are not in the employees table.
+ * Any Google account can finish the OAuth login, so without this every retry of an
+ * unregistered user would run findByEmail again.
+ */
+@Slf4j
+@Service
+public class UnknownEmailCache {
+
+    private final EmployeeRepository employeeRepository;
+    private final long ttlMillis;
+    private final Map<String, Long> expiries;
+    private final Set<String> pendingChecks = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor primaryChecks;
+
+    public UnknownEmailCache(EmployeeRepository employeeRepository,
+                             @Value("${app.auth.unknown-email-cache.max-size:10000}") int maxSize,
+                             @Value("${app.auth.unknown-email-cache.ttl:60s}") Duration ttl,
+                             @Value("${app.auth.unknown-email-cache.pending-checks:1000}") int pendingChecksCapacity) {
+        this.employeeRepository = employeeRepository;
+        this.ttlMillis = ttl.toMillis();
+        this.primaryChecks = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(pendingChecksCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "unknown-email-check");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Insertion-ordered, so the eldest entry is also the one expiring first
+        this.expiries = new LinkedHashMap<>(256, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return true if the email was looked up recently and is not registered
+     */
+    public boolean isUnknown(String email) {
+        String key = normalize(email);
+        synchronized (expiries) {
+            Long expiresAt = expiries.get(key);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (expiresAt > System.currentTimeMillis()) {
+                return true;
+            }
+            expiries.remove(key);
+            return false;
+        }
+    }
+
+    /**
+     * Caches the email once the primary confirms it is not registered. For a miss that may
+     * have been read from a replica, which can lag behind a registration from a moment ago.
+     *
+     * The check runs on its own thread, outside the caller's (read-only) transaction, so a
+     * request never holds a second connection while waiting for one; with routing off both
+     * would come from the same pool. A burst of unknown logins queues at most one check per
+     * email, and checks that do not fit the queue are skipped - the email is simply looked
+     * up again next time.
+     */
+    public void confirmUnknown(String email) {
+        String key = normalize(email);
+        if (!pendingChecks.add(key)) {
+            return;
+        }
+        try {
+            primaryChecks.execute(() -> {
+                try {
+                    if (!employeeRepository.existsByEmailOnPrimary(email)) {
+                        markUnknown(key);
+                    }
+                } catch (DataAccessException e) {
+                    log.debug("Could not check {} on the primary: {}", key, e.getMessage());
+                } finally {
+                    pendingChecks.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingChecks.remove(key);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        primaryChecks.shutdownNow();
+    }
+
+    public void markUnknown(String email) {
+        String key = normalize(email);
+        synchronized (expiries) {
+            // Re-insert so the entry moves to the end of the eviction order
+            expiries.remove(key);
+            expiries.put(key, System.currentTimeMillis() + ttlMillis);
+        }
+    }
+
+    /**
+     * Drops the email now and, inside a transaction, again after commit so a lookup
+     * racing with the registration cannot leave a stale entry behind.
+     */
+    public void forget(String email) {
+        String key = normalize(email);
+        remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * A registration on another instance makes the email known here as well
+     */
+    @EventListener
+    public void onRemoteFacultyChanged(RemoteFacultyChangedEvent event) {
+        FacultySnapshot after = event.getChange().getAfter();
+        if (after != null && after.getEmail() != null) {
+            remove(normalize(after.getEmail()));
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (expiries) {
+            expiries.remove(key);
+        }
+    }
+
+    private String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
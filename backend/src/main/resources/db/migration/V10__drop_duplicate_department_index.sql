@@ -0,0 +1,3 @@
+-- idx_employees_department (V3) duplicates the index created for the
+-- employees.department foreign key in V1, which already serves the department filter
+DROP INDEX idx_employees_department ON employees;
@@ -0,0 +1,3 @@
+-- Instance that wrote the event, so each instance can apply the changes made elsewhere
+-- to its in-memory views (directory index, teaching load, course ownership)
+ALTER TABLE change_outbox ADD COLUMN origin VARCHAR(36);
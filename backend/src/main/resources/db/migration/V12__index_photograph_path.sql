@@ -0,0 +1,3 @@
+-- findReferencedPhotographPaths: WHERE photograph_path IN (...), run by the photo sweep
+-- and the pending-photo recovery once per batch of files
+CREATE INDEX idx_employees_photograph_path ON employees (photograph_path);
@@ -0,0 +1,42 @@
+-- Baseline schema (previously created by data.sql on every startup)
+
+CREATE TABLE IF NOT EXISTS departments (
+    department_id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    capacity INT
+);
+
+CREATE TABLE IF NOT EXISTS courses (
+    course_id INT AUTO_INCREMENT PRIMARY KEY,
+    course_code VARCHAR(20) UNIQUE NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    year INT,
+    term VARCHAR(20),
+    faculty VARCHAR(50),
+    credits INT,
+    capacity INT
+);
+
+-- Employees with surrogate key
+CREATE TABLE IF NOT EXISTS employees (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    employee_id VARCHAR(50),
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(100) UNIQUE NOT NULL,
+    title VARCHAR(50),
+    photograph_path VARCHAR(255),
+    department INT,
+    FOREIGN KEY (department) REFERENCES departments(department_id)
+);
+
+-- Faculty/course junction table
+CREATE TABLE IF NOT EXISTS faculty_courses (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    faculty INT NOT NULL,
+    course_id INT NOT NULL,
+    FOREIGN KEY (faculty) REFERENCES employees(id) ON DELETE CASCADE,
+    FOREIGN KEY (course_id) REFERENCES courses(course_id) ON DELETE CASCADE,
+    UNIQUE KEY unique_faculty_course (faculty, course_id)
+);
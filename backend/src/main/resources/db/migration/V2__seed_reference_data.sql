@@ -0,0 +1,23 @@
+-- Seed data for a fresh database. Databases that already had data.sql applied
+-- are baselined at version 2 and skip this script.
+
+-- 1 department for testing
+INSERT INTO departments (name, capacity) VALUES
+('Computer Science', 100);
+
+-- 3 courses for testing
+INSERT INTO courses (course_code, name, description, year, term, faculty, credits, capacity) VALUES
+('CS101', 'Introduction to Programming', 'Basic programming concepts using Python and Java', 1, 'Fall', NULL, 4, 50),
+('CS201', 'Data Structures and Algorithms', 'Advanced data structures and algorithmic techniques', 2, 'Spring', NULL, 4, 40),
+('CS301', 'Database Management Systems', 'Database design, SQL, and transaction management', 3, 'Fall', NULL, 3, 35);
+
+-- TEST faculty member: John Derry
+-- IMPORTANT: This is the ONLY user who can login successfully
+INSERT INTO employees (employee_id, first_name, last_name, email, title, photograph_path, department) VALUES
+('FAC-CS-001', 'John', 'Derry', 'faculty19019@gmail.com', 'Associate Professor', 'uploads/faculty-photos/FAC-CS-001.png', 1);
+
+-- Faculty-course associations for John Derry
+INSERT INTO faculty_courses (faculty, course_id) VALUES
+(1, 1),  -- John Derry teaches CS101
+(1, 2),  -- John Derry teaches CS201
+(1, 3);  -- John Derry teaches CS301
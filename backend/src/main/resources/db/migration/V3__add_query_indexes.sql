@@ -0,0 +1,8 @@
+-- Indexes for the repository query shapes
+
+-- existsByCourse_CourseIdAndFaculty_IdNot: WHERE course_id = ? AND faculty <> ?
+-- (unique_faculty_course leads with faculty, so it cannot serve a course_id lookup)
+CREATE INDEX idx_faculty_courses_course_faculty ON faculty_courses (course_id, faculty);
+
+-- Employees by department (Employee.department join / filter)
+CREATE INDEX idx_employees_department ON employees (department);
@@ -0,0 +1,7 @@
+-- A course can only be owned by one faculty member. unique_faculty_course (faculty, course_id)
+-- only prevented duplicate rows for the same pair. This backs up the in-memory
+-- course ownership registry across nodes.
+ALTER TABLE faculty_courses ADD CONSTRAINT uk_faculty_courses_course UNIQUE (course_id);
+
+-- Superseded by the unique index on course_id
+DROP INDEX idx_faculty_courses_course_faculty ON faculty_courses;
@@ -0,0 +1,14 @@
+-- Append-only history of faculty profile changes (written by AuditTrailService)
+CREATE TABLE profile_audit_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    employee INT NOT NULL,
+    entity_type VARCHAR(30) NOT NULL,
+    field_name VARCHAR(50) NOT NULL,
+    old_value VARCHAR(255),
+    new_value VARCHAR(255),
+    changed_by VARCHAR(100),
+    changed_at TIMESTAMP(3) NOT NULL
+);
+
+-- History of one employee, newest first
+CREATE INDEX idx_profile_audit_employee ON profile_audit_log (employee, id);
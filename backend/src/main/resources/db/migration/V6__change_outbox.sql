@@ -0,0 +1,13 @@
+-- Transactional outbox for the change feed. Rows are inserted in the same transaction
+-- as the faculty change; the id doubles as the feed sequence number.
+CREATE TABLE change_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id INT NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(3) NOT NULL
+);
+
+-- Retention purge
+CREATE INDEX idx_change_outbox_created_at ON change_outbox (created_at);
@@ -0,0 +1,34 @@
+-- Term rollover batch jobs. last_course_id is the checkpoint: it is advanced in the
+-- same transaction as each chunk, so a restarted job carries on after the last
+-- committed chunk.
+CREATE TABLE term_rollover_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    term VARCHAR(20) NOT NULL,
+    year INT,
+    mode VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    last_course_id INT NOT NULL DEFAULT 0,
+    total_courses INT NOT NULL,
+    processed_courses INT NOT NULL DEFAULT 0,
+    archived_assignments INT NOT NULL DEFAULT 0,
+    released_assignments INT NOT NULL DEFAULT 0,
+    error VARCHAR(255),
+    created_by VARCHAR(100),
+    created_at TIMESTAMP(3) NOT NULL,
+    updated_at TIMESTAMP(3) NOT NULL
+);
+
+-- Assignments as they were when a rollover job processed them
+CREATE TABLE faculty_course_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    faculty INT NOT NULL,
+    course_id INT NOT NULL,
+    term VARCHAR(20),
+    year INT,
+    archived_at TIMESTAMP(3) NOT NULL,
+    FOREIGN KEY (job_id) REFERENCES term_rollover_jobs(id)
+);
+
+CREATE INDEX idx_faculty_course_history_faculty ON faculty_course_history (faculty);
+CREATE INDEX idx_courses_term_year ON courses (term, year, course_id);
@@ -0,0 +1,7 @@
+-- Faculty members per department. Capacity is enforced by a conditional UPDATE of
+-- this column in the transaction that moves the employee, which locks the department
+-- row, so every node sees the same count.
+ALTER TABLE departments ADD COLUMN headcount INT NOT NULL DEFAULT 0;
+
+UPDATE departments d
+SET headcount = (SELECT COUNT(*) FROM employees e WHERE e.department = d.department_id);
@@ -0,0 +1,13 @@
+-- A rollover job is run by the node holding its lease. owner is claimed with a
+-- conditional UPDATE and lease_until is pushed forward with every checkpoint, so a
+-- job whose node died is taken over once the lease has run out.
+ALTER TABLE term_rollover_jobs ADD COLUMN owner VARCHAR(64);
+ALTER TABLE term_rollover_jobs ADD COLUMN lease_until TIMESTAMP(3);
+
+-- Single row locked by starting and resuming jobs, so checking that no other job is
+-- active and activating this one is atomic across nodes
+CREATE TABLE term_rollover_guard (
+    id INT PRIMARY KEY
+);
+
+INSERT INTO term_rollover_guard (id) VALUES (1);
@@ -0,0 +1,35 @@
+package com.esdproject.facultyupdate.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A database where courses ended up with several owners before V4 still migrates.
+ */
+class DuplicateCourseOwnerCleanupTest {
+
+    @Test
+    void keepsTheOldestOwnerOfEachCourseBeforeV4() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:owner_cleanup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Flyway.configure().dataSource(dataSource).target("3").load().migrate();
+        // The seed data gives John Derry (id 1) courses 1-3; Jane Roe claims two of them as well
+        jdbcTemplate.update("INSERT INTO employees (employee_id, first_name, last_name, email, title, department) "
+                + "VALUES ('FAC-CS-002', 'Jane', 'Roe', 'jane.roe@example.org', 'Lecturer', 1)");
+        jdbcTemplate.update("INSERT INTO faculty_courses (faculty, course_id) VALUES (2, 1), (2, 3)");
+        jdbcTemplate.update("UPDATE courses SET faculty = 'Jane Roe' WHERE course_id IN (1, 3)");
+
+        Flyway.configure().dataSource(dataSource).callbacks(new DuplicateCourseOwnerCleanup()).load().migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT faculty FROM faculty_courses ORDER BY course_id", Integer.class))
+                .containsExactly(1, 1, 1);
+        assertThat(jdbcTemplate.queryForList("SELECT faculty FROM courses ORDER BY course_id", String.class))
+                .containsOnly("John Derry");
+    }
+}
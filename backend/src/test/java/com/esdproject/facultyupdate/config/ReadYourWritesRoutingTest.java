@@ -0,0 +1,95 @@
+package com.esdproject.facultyupdate.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read/write routing against the two embedded H2 databases of the replica-local profile.
+ * The replica is seeded once and never sees the primary's writes, so the title a read
+ * returns shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ryw_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.replicas[0].url=jdbc:h2:mem:ryw_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "app.security.admin-emails=admin@example.org",
+        "app.cors.allowed-origins=http://localhost:3000",
+        "file.upload-dir=target/routing-test/uploads",
+        "app.reference-data.snapshot-file=target/routing-test/reference-data.snapshot",
+        "spring.security.oauth2.client.registration.google.client-id=test",
+        "spring.security.oauth2.client.registration.google.client-secret=test"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("replica-local")
+class ReadYourWritesRoutingTest {
+
+    private static final String SEEDED_TITLE = "Associate Professor";
+    private static final String UPDATED_TITLE = "Professor";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void writerReadsFromPrimaryWhileOthersReadTheReplica() throws Exception {
+        String update = "{\"id\":1,\"employeeId\":\"FAC-CS-001\",\"firstName\":\"John\",\"lastName\":\"Derry\","
+                + "\"email\":\"faculty19019@gmail.com\",\"title\":\"" + UPDATED_TITLE + "\",\"departmentId\":1,\"courseIds\":[1,2]}";
+
+        mvc.perform(put("/api/faculty/me").with(john())
+                        .contentType(MediaType.APPLICATION_JSON).content(update))
+                .andExpect(status().isOk());
+
+        // The writer is pinned to the primary and sees the new title
+        mvc.perform(get("/api/faculty/me").with(john()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title").value(UPDATED_TITLE));
+
+        // Anyone else reads the replica, which still has the seeded title
+        mvc.perform(post("/api/faculty/batch").with(admin())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.results[0].title").value(SEEDED_TITLE));
+    }
+
+    @Test
+    void writersThatNeverReadAgainAreSwept() throws Exception {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(200));
+        for (int i = 0; i < 1000; i++) {
+            tracker.recordWrite("user-" + i);
+        }
+        Thread.sleep(400);
+
+        tracker.recordWrite("latest");
+
+        assertThat(tracker.size()).isEqualTo(1);
+        assertThat(tracker.isPinned("user-0")).isFalse();
+    }
+
+    private RequestPostProcessor john() {
+        return oauth2Login().attributes(a -> {
+            a.put("sub", "john");
+            a.put("email", "faculty19019@gmail.com");
+        });
+    }
+
+    private RequestPostProcessor admin() {
+        return oauth2Login().attributes(a -> {
+            a.put("sub", "admin");
+            a.put("email", "admin@example.org");
+        });
+    }
+}
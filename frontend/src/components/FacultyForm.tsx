@@ -1,7 +1,7 @@
 import React, { useState, useEffect, ChangeEvent, FormEvent } from 'react'
 import { useNavigate, useParams } from 'react-router-dom'
 import { useAuth } from '../context/AuthContext'
-import { facultyAPI, departmentAPI, courseAPI } from '../services/api'
+import { facultyAPI, bootstrapAPI } from '../services/api'
 import type { Course, Department, FacultyFormPayload, Faculty } from '../types/api'
 import './FacultyForm.css'
 
@@ -37,32 +37,20 @@ const FacultyForm: React.FC = () => {
   const [success, setSuccess] = useState(false)
 
   useEffect(() => {
-    void fetchDepartments()
-    void fetchCourses()
+    void fetchReferenceData()
     if (isEdit && id) {
       void fetchFaculty(id)
     }
   }, [id, isEdit])
 
-  const fetchDepartments = async (): Promise<void> => {
+  // Departments and courses come from the bootstrap call (cached sections are not re-sent)
+  const fetchReferenceData = async (): Promise<void> => {
     try {
-      const response = await departmentAPI.getAll()
-      if (response.data.success) {
-        setDepartments(response.data.data ?? [])
-      }
-    } catch (err) {
-      console.error('Failed to fetch departments:', err)
-    }
-  }
-
-  const fetchCourses = async (): Promise<void> => {
-    try {
-      const response = await courseAPI.getAll()
-      if (response.data.success) {
-        setCourses(response.data.data ?? [])
-      }
+      const data = await bootstrapAPI.load()
+      setDepartments(data.departments)
+      setCourses(data.courses)
     } catch (err) {
-      console.error('Failed to fetch courses:', err)
+      console.error('Failed to fetch departments and courses:', err)
     }
   }
 
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react'
 import { useNavigate } from 'react-router-dom'
 import { useAuth } from '../context/AuthContext'
-import { facultyAPI, departmentAPI, courseAPI } from '../services/api'
+import { facultyAPI, bootstrapAPI } from '../services/api'
 import type { Faculty, Department, Course } from '../types/api'
 import './FacultyList.css'
 
@@ -30,8 +30,6 @@ const FacultyProfile: React.FC = () => {
 
     useEffect(() => {
         void fetchProfile()
-        void fetchDepartments()
-        void fetchCourses()
     }, [])
 
     // Cleanup preview URL on unmount or when it changes
@@ -43,25 +41,30 @@ const FacultyProfile: React.FC = () => {
         }
     }, [previewUrl])
 
+    // Profile, departments and courses arrive in one bootstrap call
     const fetchProfile = async (): Promise<void> => {
         try {
             setLoading(true)
             setError(null)
-            const response = await facultyAPI.getCurrentProfile()
+            const data = await bootstrapAPI.load()
+            setDepartments(data.departments)
+            setCourses(data.courses)
 
-            if (response.data.success && response.data.data) {
-                setFaculty(response.data.data)
+            if (data.profile) {
+                setFaculty(data.profile)
                 // Initialize form data
                 setFormData({
-                    id: response.data.data.id,
-                    employeeId: response.data.data.employeeId || '',
-                    firstName: response.data.data.firstName,
-                    lastName: response.data.data.lastName,
-                    email: response.data.data.email,
-                    title: response.data.data.title || '',
-                    departmentId: response.data.data.department?.departmentId || 0,
-                    courseIds: response.data.data.courses?.map(c => c.courseId) || []
+                    id: data.profile.id,
+                    employeeId: data.profile.employeeId || '',
+                    firstName: data.profile.firstName,
+                    lastName: data.profile.lastName,
+                    email: data.profile.email,
+                    title: data.profile.title || '',
+                    departmentId: data.profile.department?.departmentId || 0,
+                    courseIds: data.profile.courses?.map(c => c.courseId) || []
                 })
+            } else {
+                setError(data.profileError || 'Failed to fetch profile. Your email may not be registered in the system.')
             }
         } catch (err: any) {
             const message = err.response?.data?.message || 'Failed to fetch profile. Your email may not be registered in the system.'
@@ -72,38 +75,13 @@ const FacultyProfile: React.FC = () => {
         }
     }
 
-    const fetchDepartments = async (): Promise<void> => {
-        try {
-            const response = await departmentAPI.getAll()
-            if (response.data.success) {
-                setDepartments(response.data.data ?? [])
-            }
-        } catch (err) {
-            console.error('Failed to fetch departments:', err)
-        }
-    }
-
-    const fetchCourses = async (): Promise<void> => {
-        try {
-            const response = await courseAPI.getAll()
-            if (response.data.success) {
-                setCourses(response.data.data ?? [])
-            }
-        } catch (err) {
-            console.error('Failed to fetch courses:', err)
-        }
-    }
-
     const handleUpdate = async (e: React.FormEvent): Promise<void> => {
         e.preventDefault()
         console.log('Submitting update with formData:', formData)
         try {
             // 1. Upload photo if selected
             if (selectedFile) {
-                const photoResponse = await facultyAPI.uploadPhoto(selectedFile)
-                if (!photoResponse.data.success) {
-                    throw new Error('Failed to upload photo')
-                }
+                await facultyAPI.uploadPhotoResumable(selectedFile)
             }
 
             // 2. Update profile details
@@ -7,6 +7,7 @@ import React, {
   ReactNode
 } from 'react'
 import axios from 'axios'
+import { bootstrapAPI } from '../services/api'
 
 interface AuthUser {
   name?: string
@@ -81,6 +82,7 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
       console.error('Logout error:', error)
     } finally {
       // Clear state
+      bootstrapAPI.clear()
       setIsAuthenticated(false)
       setUser(null)
 
@@ -1,5 +1,15 @@
-import axios, { AxiosResponse } from 'axios'
-import type { ApiResponse, Course, Department, Faculty, FacultyFormPayload } from '../types/api'
+import axios, { AxiosRequestConfig, AxiosResponse } from 'axios'
+import type {
+  ApiResponse,
+  BootstrapData,
+  BootstrapResponse,
+  BootstrapSection,
+  Course,
+  Department,
+  Faculty,
+  FacultyFormPayload,
+  PhotoUploadStatus
+} from '../types/api'
 
 const API_BASE_URL = 'http://localhost:8080/api'
 
@@ -28,13 +38,36 @@ api.interceptors.response.use(
   }
 )
 
+const IDEMPOTENT_MAX_RETRIES = 2
+
+// crypto.randomUUID is only available in secure contexts
+const newIdempotencyKey = (): string =>
+  window.crypto?.randomUUID?.() ?? `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}`
+
+// Send a write with one Idempotency-Key and resend it with the same key when no response arrived,
+// so a write that did reach the server is replayed instead of run twice
+const sendIdempotent = async <T>(
+  send: (config: AxiosRequestConfig) => Promise<AxiosResponse<T>>
+): Promise<AxiosResponse<T>> => {
+  const config = { headers: { 'Idempotency-Key': newIdempotencyKey() } }
+  for (let retries = 0; ; retries++) {
+    try {
+      return await send(config)
+    } catch (err) {
+      if (!axios.isAxiosError(err) || err.response || retries >= IDEMPOTENT_MAX_RETRIES) {
+        throw err
+      }
+    }
+  }
+}
+
 export const facultyAPI = {
   // Get current logged-in faculty member's profile
   getCurrentProfile: (): Promise<AxiosResponse<ApiResponse<Faculty>>> => api.get('/faculty/me'),
 
   // Update current logged-in faculty member's profile
   updateCurrentProfile: (data: FacultyFormPayload): Promise<AxiosResponse<ApiResponse<Faculty>>> =>
-    api.put('/faculty/me', data),
+    sendIdempotent((config) => api.put('/faculty/me', data, config)),
 
   // Upload photo for current user
   uploadPhoto: (file: File): Promise<AxiosResponse<ApiResponse<string>>> => {
@@ -45,7 +78,53 @@ export const facultyAPI = {
         'Content-Type': 'multipart/form-data'
       }
     })
+  },
+
+  // Upload photo for current user in chunks, resuming from the server's offset after a failed chunk
+  uploadPhotoResumable: async (file: File): Promise<PhotoUploadStatus> => {
+    const session = { filename: file.name, size: file.size, sha256: await sha256Hex(file) }
+    const created = await sendIdempotent((config) =>
+      api.post<ApiResponse<PhotoUploadStatus>>('/faculty/me/uploads', session, config)
+    )
+    const uploadId = created.data.data.uploadId
+    let offset = 0
+    let retries = 0
+
+    while (offset < file.size) {
+      try {
+        const chunk = file.slice(offset, offset + UPLOAD_CHUNK_SIZE)
+        const response = await api.patch<ApiResponse<PhotoUploadStatus>>(`/faculty/me/uploads/${uploadId}`, chunk, {
+          headers: {
+            'Content-Type': 'application/offset+octet-stream',
+            'Upload-Offset': String(offset)
+          }
+        })
+        offset = response.data.data.offset
+        retries = 0
+      } catch (err) {
+        if (++retries > UPLOAD_MAX_RETRIES) {
+          throw err
+        }
+        const status = await api.get<ApiResponse<PhotoUploadStatus>>(`/faculty/me/uploads/${uploadId}`)
+        offset = status.data.data.offset
+      }
+    }
+
+    const completed = await api.post<ApiResponse<PhotoUploadStatus>>(`/faculty/me/uploads/${uploadId}/complete`)
+    return completed.data.data
+  }
+}
+
+const UPLOAD_CHUNK_SIZE = 256 * 1024
+const UPLOAD_MAX_RETRIES = 3
+
+// crypto.subtle is only available in secure contexts; the server skips the check without it
+const sha256Hex = async (file: File): Promise<string | undefined> => {
+  if (!window.crypto?.subtle) {
+    return undefined
   }
+  const digest = await window.crypto.subtle.digest('SHA-256', await file.arrayBuffer())
+  return Array.from(new Uint8Array(digest), (b) => b.toString(16).padStart(2, '0')).join('')
 }
 
 export const departmentAPI = {
@@ -56,4 +135,50 @@ export const courseAPI = {
   getAll: (): Promise<AxiosResponse<ApiResponse<Course[]>>> => api.get('/courses')
 }
 
+// Bootstrap sections cached for this tab, keyed by section name
+const BOOTSTRAP_CACHE_PREFIX = 'bootstrap:'
+
+const readCachedSection = <T>(name: string): BootstrapSection<T> | null => {
+  const cached = sessionStorage.getItem(BOOTSTRAP_CACHE_PREFIX + name)
+  return cached ? (JSON.parse(cached) as BootstrapSection<T>) : null
+}
+
+// Use the server's copy, or ours if the server says it is unchanged
+const resolveSection = <T>(name: string, section: BootstrapSection<T>): T | null => {
+  if (section.notModified) {
+    return readCachedSection<T>(name)?.data ?? null
+  }
+  if (section.etag && section.data !== undefined) {
+    sessionStorage.setItem(BOOTSTRAP_CACHE_PREFIX + name, JSON.stringify(section))
+  }
+  return section.data ?? null
+}
+
+export const bootstrapAPI = {
+  // User, profile, departments and courses in one request; unchanged sections come from sessionStorage
+  load: async (): Promise<BootstrapData> => {
+    const knownEtags = ['profile', 'departments', 'courses']
+      .map((name) => readCachedSection(name)?.etag)
+      .filter((etag): etag is string => Boolean(etag))
+
+    const response = await api.get<ApiResponse<BootstrapResponse>>('/bootstrap', {
+      headers: knownEtags.length > 0 ? { 'X-Known-ETags': knownEtags.map((etag) => `"${etag}"`).join(', ') } : {}
+    })
+    const data = response.data.data
+
+    return {
+      user: data.user,
+      profile: resolveSection('profile', data.profile),
+      profileError: data.profile.error ?? null,
+      departments: resolveSection('departments', data.departments) ?? [],
+      courses: resolveSection('courses', data.courses) ?? []
+    }
+  },
+
+  // Forget cached sections (e.g. on logout)
+  clear: (): void => {
+    ;['profile', 'departments', 'courses'].forEach((name) => sessionStorage.removeItem(BOOTSTRAP_CACHE_PREFIX + name))
+  }
+}
+
 export default api
@@ -38,8 +38,41 @@ export interface FacultyFormPayload {
   courseIds: number[]
 }
 
+export interface PhotoUploadStatus {
+  uploadId: string
+  offset: number
+  size: number
+  photographPath?: string | null
+}
+
 export interface ApiResponse<T> {
   success: boolean
   message: string
   data: T
 }
+
+export interface BootstrapSection<T> {
+  etag?: string
+  notModified: boolean
+  data?: T
+  error?: string
+}
+
+export interface BootstrapResponse {
+  user: {
+    name?: string
+    email?: string
+    picture?: string
+  } | null
+  profile: BootstrapSection<Faculty>
+  departments: BootstrapSection<Department[]>
+  courses: BootstrapSection<Course[]>
+}
+
+export interface BootstrapData {
+  user: BootstrapResponse['user']
+  profile: Faculty | null
+  profileError: string | null
+  departments: Department[]
+  courses: Course[]
+}